@@ -2,6 +2,7 @@
 plugins {
     java
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 java {
@@ -20,6 +21,14 @@ dependencies {
     implementation("com.ibm.wala:com.ibm.wala.util:1.6.12")
     implementation("org.apache.bcel:bcel:6.11.0")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.17.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 application {
@@ -27,6 +36,17 @@ application {
     mainClass.set("org.example.Main")
 }
 
+// 벤치마크: src/jmh/java (./gradlew jmh, 결과는 build/results/jmh/results.json)
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")                 // 처리량과 함께 할당률(gc.alloc.rate.norm) 보고
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    (findProperty("jmhIncludes") as String?)?.let { includes.add(it) } // 예: -PjmhIncludes=Bcel
+}
+
 tasks.withType<JavaExec> {
     standardInput = System.`in`
 }
\ No newline at end of file
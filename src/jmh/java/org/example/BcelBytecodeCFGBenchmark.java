@@ -0,0 +1,42 @@
+package org.example;
+
+import org.apache.bcel.classfile.JavaClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** BCEL 명령어 그래프 구축: 클래스 하나의 모든 메서드, 세 가지 DFG 모드 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BcelBytecodeCFGBenchmark {
+
+    @Param({"Tiny", "Loops", "Handlers", "Large", "ManyHandlers"})
+    public String fixture;
+
+    @Param({"DATA_LOCAL", "DATA_STACK", "WALA_ONLY"})
+    public String mode;
+
+    private final BcelBytecodeCFG bcel = new BcelBytecodeCFG();
+    private byte[] bytes;
+    private JavaClass parsed;
+
+    @Setup
+    public void setup() throws Exception {
+        bytes = BenchFixtures.classBytes(fixture);
+        parsed = BcelClassIntrospector.scanClass(bytes, fixture).javaClass;
+    }
+
+    /** 이미 파싱된 클래스에서 그래프만 구축 */
+    @Benchmark
+    public Map<BcelClassIntrospector.MethodSig, BcelBytecodeCFG.Graph> buildAll() {
+        return bcel.buildAll(parsed, mode);
+    }
+
+    /** Analysis 와 같은 경로: 클래스 바이트 파싱 + 그래프 구축 */
+    @Benchmark
+    public Map<BcelClassIntrospector.MethodSig, BcelBytecodeCFG.Graph> scanAndBuildAll() throws Exception {
+        return bcel.buildAll(BcelClassIntrospector.scanClass(bytes, fixture).javaClass, mode);
+    }
+}
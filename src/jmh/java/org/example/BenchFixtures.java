@@ -0,0 +1,42 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 벤치마크 입력: org.example.fixtures 의 컴파일된 클래스.
+ * Tiny(접근자) &lt; Loops(일반 메서드) &lt; Handlers(예외 핸들러 다수) &lt; Large(분기/지역 변수 다수) 순으로 커진다.
+ * ManyHandlers 는 예외 테이블 항목이 수백 개인 메서드로, 예외 엣지 구축의 회귀 측정용이다.
+ */
+final class BenchFixtures {
+
+    static final String PACKAGE = "org/example/fixtures/";
+    static final String[] CLASSES = {"Tiny", "Loops", "Handlers", "Large", "ManyHandlers"};
+
+    private BenchFixtures() {}
+
+    /** 내부 클래스 이름 (예: org/example/fixtures/Tiny) */
+    static String internalName(String simpleName) {
+        return PACKAGE + simpleName;
+    }
+
+    static byte[] classBytes(String simpleName) {
+        try (InputStream in = BenchFixtures.class.getResourceAsStream("/" + internalName(simpleName) + ".class")) {
+            if (in == null) throw new IllegalArgumentException("Unknown fixture: " + simpleName);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** WALA 애플리케이션 클래스패스로 쓸 수 있도록 fixture 클래스만 임시 디렉토리에 복사 */
+    static Path materialize() throws IOException {
+        Path root = Files.createTempDirectory("bytegraph-fixtures");
+        Path pkg = Files.createDirectories(root.resolve(PACKAGE));
+        for (String c : CLASSES) Files.write(pkg.resolve(c + ".class"), classBytes(c));
+        return root;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클래스 하나의 모든 메서드를 JSON 으로 직렬화하는 비용. 디스크 I/O 를 빼기 위해 export 대신
+ * 같은 직렬화 경로인 write 를 null 스트림에 대해 호출한다.
+ * Flow 는 WALA 없이 만들 수 있도록 BCEL 그래프의 엣지로 채운다 (크기만 대표값이면 충분).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonExporterBenchmark {
+
+    @Param({"Tiny", "Loops", "Handlers", "Large"})
+    public String fixture;
+
+    @Param({"PRETTY", "COMPACT"})
+    public JsonExporter.Style style;
+
+    private record Method(String name, String desc, BcelBytecodeCFG.Graph graph, WalaIRProjector.Flow flow) {}
+
+    private final List<Method> methods = new ArrayList<>();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] bytes = BenchFixtures.classBytes(fixture);
+        BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClass(bytes, fixture);
+        for (Map.Entry<BcelClassIntrospector.MethodSig, BcelBytecodeCFG.Graph> e
+                : new BcelBytecodeCFG().buildAll(scan.javaClass, "DATA_STACK").entrySet()) {
+            BcelBytecodeCFG.Graph g = e.getValue();
+            WalaIRProjector.Flow f = new WalaIRProjector.Flow();
+            f.dfg = g.dfgEdges;
+            f.ddg = g.dfgEdges;
+            f.cdg = g.cfgEdges;
+            methods.add(new Method(e.getKey().name, e.getKey().desc, g, f));
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        for (Method m : methods) {
+            JsonExporter.write(BenchFixtures.internalName(fixture), m.name, m.desc, m.graph, m.flow, sink, style);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ssa.DefUse;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAOptions;
+import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.TypeReference;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WalaIRProjector 의 DFG/CDG/DDG 투영을 메서드 단위로 측정한다.
+ * localReachingDefs 는 같은 메서드에 대한 BCEL 로컬 슬롯 Reaching Definitions 로, WALA DFG 경로(dfg)와 비교용이다.
+ * IR, 오프셋 매핑, CallGraph 와 Mod/Ref 는 Trial 시작 시 한 번 만들어 두므로 각 단계 자체의 비용만 측정된다.
+ * WalaSession 과 마찬가지로 작업 디렉토리에 JDK 8 lib(rt.jar, jce.jar)이 있어야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WalaIRProjectorBenchmark {
+
+    @Param({"Tiny.add", "Loops.matrixSum", "Loops.classify", "Handlers.nested", "Large.mix", "Large.interpolate",
+            "ManyHandlers.nested"})
+    public String method;
+
+    private final WalaIRProjector projector = new WalaIRProjector();
+    private WalaSession session;
+    private IMethod target;
+    private IR ir;
+    private Map<Integer, Integer> irIndexToOffset;
+    private BcelBytecodeCFG.Graph instrCFG;
+    private InstructionHandle[] ihs;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        String simpleName = method.substring(0, method.indexOf('.'));
+        String methodName = method.substring(method.indexOf('.') + 1);
+        String internalName = BenchFixtures.internalName(simpleName);
+
+        session = WalaSession.init(BenchFixtures.materialize().toString(), Collections.emptySet(), Collections.emptyList());
+        IClass clazz = session.cha.lookupClass(TypeReference.findOrCreate(ClassLoaderReference.Application, "L" + internalName));
+        for (IMethod m : clazz.getDeclaredMethods()) {
+            if (m.getName().toString().equals(methodName)) target = m;
+        }
+        if (target == null) throw new IllegalArgumentException("Unknown fixture method: " + method);
+
+        ir = session.cache.getIRFactory().makeIR(target, Everywhere.EVERYWHERE, SSAOptions.defaultOptions());
+        irIndexToOffset = projector.buildIRIndexToOffset(ir);
+        byte[] bytes = BenchFixtures.classBytes(simpleName);
+        for (Map.Entry<BcelClassIntrospector.MethodSig, BcelBytecodeCFG.Graph> e
+                : new BcelBytecodeCFG().buildAll(BcelClassIntrospector.scanClass(bytes, simpleName).javaClass, "WALA_ONLY").entrySet()) {
+            if (e.getKey().name.equals(methodName)) instrCFG = e.getValue();
+        }
+        ihs = new InstructionList(instrCFG.rawCode).getInstructionHandles();
+        session.ensureModRef(); // DDG 측정에서 CallGraph 구축 제외 (Mod/Ref 는 첫 반복에서 계산되어 보관됨)
+    }
+
+    @Benchmark
+    public IntGraph dfg() {
+        IntGraph.Builder b = projector.initFlow(instrCFG);
+        projector.buildDFG(ir, new DefUse(ir), irIndexToOffset, b);   // DefUse 구축 비용 포함
+        return b.build();
+    }
+
+    @Benchmark
+    public IntGraph localReachingDefs() {
+        IntGraph.Builder b = projector.initFlow(instrCFG);
+        BcelBytecodeCFG.addLocalDefUseEdges(ihs, instrCFG.cfgEdges, instrCFG.exEdges, b);
+        return b.build();
+    }
+
+    @Benchmark
+    public IntGraph cdg() {
+        IntGraph.Builder b = projector.initFlow(instrCFG);
+        projector.buildCDG(ir, ir.getControlFlowGraph(), irIndexToOffset, b);
+        return b.build();
+    }
+
+    @Benchmark
+    public IntGraph ddg() throws Exception {
+        IntGraph.Builder b = projector.initFlow(instrCFG);
+        projector.buildDDG(session, target, ir, irIndexToOffset, b);
+        return b.build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.fixtures;
+
+/** 예외 핸들러가 많은 입력: 중첩 try/catch/finally 로 예외 테이블이 커지는 생성 코드 패턴 */
+public class Handlers {
+
+    public int nested(int[] a, String s, Object o) {
+        int r = 0;
+        try {
+            try {
+                try {
+                    r += a[0];
+                    try {
+                        r += Integer.parseInt(s);
+                    } catch (NumberFormatException e) {
+                        r -= 1;
+                    } finally {
+                        r ^= 3;
+                    }
+                    try {
+                        r += ((String) o).length();
+                    } catch (ClassCastException e) {
+                        r -= 2;
+                    } catch (NullPointerException e) {
+                        r -= 3;
+                    }
+                } catch (ArrayIndexOutOfBoundsException e) {
+                    r -= 4;
+                } finally {
+                    r <<= 1;
+                }
+                for (int i = 0; i < a.length; i++) {
+                    try {
+                        r += 100 / a[i];
+                    } catch (ArithmeticException e) {
+                        r--;
+                    } finally {
+                        r++;
+                    }
+                }
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                r -= 5;
+            } finally {
+                r >>= 1;
+            }
+        } catch (RuntimeException e) {
+            r = -1;
+        } finally {
+            r |= 1;
+        }
+        return r;
+    }
+
+    public int sequential(int[] a) {
+        int r = 0;
+        try { r += a[0]; } catch (RuntimeException e) { r--; }
+        try { r += a[1]; } catch (RuntimeException e) { r--; }
+        try { r += a[2]; } catch (RuntimeException e) { r--; }
+        try { r += a[3]; } catch (RuntimeException e) { r--; }
+        try { r += a[4]; } catch (RuntimeException e) { r--; }
+        try { r += a[5]; } catch (RuntimeException e) { r--; }
+        try { r += a[6]; } catch (RuntimeException e) { r--; }
+        try { r += a[7]; } catch (RuntimeException e) { r--; }
+        try { r += a[8]; } catch (RuntimeException e) { r--; } finally { r++; }
+        try { r += a[9]; } catch (RuntimeException e) { r--; } finally { r++; }
+        try { r += a[10]; } catch (RuntimeException e) { r--; } finally { r++; }
+        try { r += a[11]; } catch (RuntimeException e) { r--; } finally { r++; }
+        return r;
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.fixtures;
+
+/**
+ * 병적인(pathological) 입력: 분기와 지역 변수가 많은 긴 메서드. 생성 코드/난독화 코드의 크기를 흉내낸다.
+ * 본문은 반복 패턴이므로 손으로 고치지 말고 패턴을 유지할 것.
+ */
+public class Large {
+
+    public long mix(int[] in, long seed) {
+        long a = seed, b = seed ^ 0x9E3779B97F4A7C15L, c = 0, d = 1;
+        if (in[0 % in.length] > 0) { a += in[0 % in.length] * 1L; b ^= a << 1; } else { c -= b >>> 2; d *= 3; }
+        if (in[1 % in.length] > 7) { a += in[3 % in.length] * 2L; b ^= a << 2; } else { c -= b >>> 3; d *= 5; }
+        if (in[2 % in.length] > 14) { a += in[6 % in.length] * 3L; b ^= a << 3; } else { c -= b >>> 4; d *= 7; }
+        if (in[3 % in.length] > 21) { a += in[9 % in.length] * 4L; b ^= a << 4; } else { c -= b >>> 5; d *= 9; }
+        if (in[4 % in.length] > 28) { a += in[12 % in.length] * 5L; b ^= a << 5; } else { c -= b >>> 6; d *= 11; }
+        if (in[5 % in.length] > 35) { a += in[15 % in.length] * 6L; b ^= a << 6; } else { c -= b >>> 7; d *= 13; }
+        if (in[6 % in.length] > 42) { a += in[2 % in.length] * 7L; b ^= a << 7; } else { c -= b >>> 8; d *= 15; }
+        if (in[7 % in.length] > 49) { a += in[5 % in.length] * 8L; b ^= a << 8; } else { c -= b >>> 9; d *= 17; }
+        if (in[8 % in.length] > 56) { a += in[8 % in.length] * 9L; b ^= a << 1; } else { c -= b >>> 2; d *= 19; }
+        if (in[9 % in.length] > 63) { a += in[11 % in.length] * 10L; b ^= a << 2; } else { c -= b >>> 3; d *= 21; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[10 % in.length] > 70) { a += in[14 % in.length] * 11L; b ^= a << 3; } else { c -= b >>> 4; d *= 23; }
+        if (in[11 % in.length] > 77) { a += in[1 % in.length] * 12L; b ^= a << 4; } else { c -= b >>> 5; d *= 25; }
+        if (in[12 % in.length] > 84) { a += in[4 % in.length] * 13L; b ^= a << 5; } else { c -= b >>> 6; d *= 27; }
+        if (in[13 % in.length] > 91) { a += in[7 % in.length] * 14L; b ^= a << 6; } else { c -= b >>> 7; d *= 29; }
+        if (in[14 % in.length] > 1) { a += in[10 % in.length] * 15L; b ^= a << 7; } else { c -= b >>> 8; d *= 31; }
+        if (in[15 % in.length] > 8) { a += in[13 % in.length] * 16L; b ^= a << 8; } else { c -= b >>> 9; d *= 33; }
+        if (in[16 % in.length] > 15) { a += in[0 % in.length] * 17L; b ^= a << 1; } else { c -= b >>> 2; d *= 35; }
+        if (in[17 % in.length] > 22) { a += in[3 % in.length] * 18L; b ^= a << 2; } else { c -= b >>> 3; d *= 37; }
+        if (in[18 % in.length] > 29) { a += in[6 % in.length] * 19L; b ^= a << 3; } else { c -= b >>> 4; d *= 39; }
+        if (in[19 % in.length] > 36) { a += in[9 % in.length] * 20L; b ^= a << 4; } else { c -= b >>> 5; d *= 41; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[20 % in.length] > 43) { a += in[12 % in.length] * 21L; b ^= a << 5; } else { c -= b >>> 6; d *= 43; }
+        if (in[21 % in.length] > 50) { a += in[15 % in.length] * 22L; b ^= a << 6; } else { c -= b >>> 7; d *= 45; }
+        if (in[22 % in.length] > 57) { a += in[2 % in.length] * 23L; b ^= a << 7; } else { c -= b >>> 8; d *= 47; }
+        if (in[23 % in.length] > 64) { a += in[5 % in.length] * 24L; b ^= a << 8; } else { c -= b >>> 9; d *= 49; }
+        if (in[24 % in.length] > 71) { a += in[8 % in.length] * 25L; b ^= a << 1; } else { c -= b >>> 2; d *= 51; }
+        if (in[25 % in.length] > 78) { a += in[11 % in.length] * 26L; b ^= a << 2; } else { c -= b >>> 3; d *= 53; }
+        if (in[26 % in.length] > 85) { a += in[14 % in.length] * 27L; b ^= a << 3; } else { c -= b >>> 4; d *= 55; }
+        if (in[27 % in.length] > 92) { a += in[1 % in.length] * 28L; b ^= a << 4; } else { c -= b >>> 5; d *= 57; }
+        if (in[28 % in.length] > 2) { a += in[4 % in.length] * 29L; b ^= a << 5; } else { c -= b >>> 6; d *= 59; }
+        if (in[29 % in.length] > 9) { a += in[7 % in.length] * 30L; b ^= a << 6; } else { c -= b >>> 7; d *= 61; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[30 % in.length] > 16) { a += in[10 % in.length] * 31L; b ^= a << 7; } else { c -= b >>> 8; d *= 63; }
+        if (in[31 % in.length] > 23) { a += in[13 % in.length] * 32L; b ^= a << 8; } else { c -= b >>> 9; d *= 65; }
+        if (in[32 % in.length] > 30) { a += in[0 % in.length] * 33L; b ^= a << 1; } else { c -= b >>> 2; d *= 67; }
+        if (in[33 % in.length] > 37) { a += in[3 % in.length] * 34L; b ^= a << 2; } else { c -= b >>> 3; d *= 69; }
+        if (in[34 % in.length] > 44) { a += in[6 % in.length] * 35L; b ^= a << 3; } else { c -= b >>> 4; d *= 71; }
+        if (in[35 % in.length] > 51) { a += in[9 % in.length] * 36L; b ^= a << 4; } else { c -= b >>> 5; d *= 73; }
+        if (in[36 % in.length] > 58) { a += in[12 % in.length] * 37L; b ^= a << 5; } else { c -= b >>> 6; d *= 75; }
+        if (in[37 % in.length] > 65) { a += in[15 % in.length] * 38L; b ^= a << 6; } else { c -= b >>> 7; d *= 77; }
+        if (in[38 % in.length] > 72) { a += in[2 % in.length] * 39L; b ^= a << 7; } else { c -= b >>> 8; d *= 79; }
+        if (in[39 % in.length] > 79) { a += in[5 % in.length] * 40L; b ^= a << 8; } else { c -= b >>> 9; d *= 81; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[40 % in.length] > 86) { a += in[8 % in.length] * 41L; b ^= a << 1; } else { c -= b >>> 2; d *= 83; }
+        if (in[41 % in.length] > 93) { a += in[11 % in.length] * 42L; b ^= a << 2; } else { c -= b >>> 3; d *= 85; }
+        if (in[42 % in.length] > 3) { a += in[14 % in.length] * 43L; b ^= a << 3; } else { c -= b >>> 4; d *= 87; }
+        if (in[43 % in.length] > 10) { a += in[1 % in.length] * 44L; b ^= a << 4; } else { c -= b >>> 5; d *= 89; }
+        if (in[44 % in.length] > 17) { a += in[4 % in.length] * 45L; b ^= a << 5; } else { c -= b >>> 6; d *= 91; }
+        if (in[45 % in.length] > 24) { a += in[7 % in.length] * 46L; b ^= a << 6; } else { c -= b >>> 7; d *= 93; }
+        if (in[46 % in.length] > 31) { a += in[10 % in.length] * 47L; b ^= a << 7; } else { c -= b >>> 8; d *= 95; }
+        if (in[47 % in.length] > 38) { a += in[13 % in.length] * 48L; b ^= a << 8; } else { c -= b >>> 9; d *= 97; }
+        if (in[48 % in.length] > 45) { a += in[0 % in.length] * 49L; b ^= a << 1; } else { c -= b >>> 2; d *= 99; }
+        if (in[49 % in.length] > 52) { a += in[3 % in.length] * 50L; b ^= a << 2; } else { c -= b >>> 3; d *= 101; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[50 % in.length] > 59) { a += in[6 % in.length] * 51L; b ^= a << 3; } else { c -= b >>> 4; d *= 103; }
+        if (in[51 % in.length] > 66) { a += in[9 % in.length] * 52L; b ^= a << 4; } else { c -= b >>> 5; d *= 105; }
+        if (in[52 % in.length] > 73) { a += in[12 % in.length] * 53L; b ^= a << 5; } else { c -= b >>> 6; d *= 107; }
+        if (in[53 % in.length] > 80) { a += in[15 % in.length] * 54L; b ^= a << 6; } else { c -= b >>> 7; d *= 109; }
+        if (in[54 % in.length] > 87) { a += in[2 % in.length] * 55L; b ^= a << 7; } else { c -= b >>> 8; d *= 111; }
+        if (in[55 % in.length] > 94) { a += in[5 % in.length] * 56L; b ^= a << 8; } else { c -= b >>> 9; d *= 113; }
+        if (in[56 % in.length] > 4) { a += in[8 % in.length] * 57L; b ^= a << 1; } else { c -= b >>> 2; d *= 115; }
+        if (in[57 % in.length] > 11) { a += in[11 % in.length] * 58L; b ^= a << 2; } else { c -= b >>> 3; d *= 117; }
+        if (in[58 % in.length] > 18) { a += in[14 % in.length] * 59L; b ^= a << 3; } else { c -= b >>> 4; d *= 119; }
+        if (in[59 % in.length] > 25) { a += in[1 % in.length] * 60L; b ^= a << 4; } else { c -= b >>> 5; d *= 121; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[60 % in.length] > 32) { a += in[4 % in.length] * 61L; b ^= a << 5; } else { c -= b >>> 6; d *= 123; }
+        if (in[61 % in.length] > 39) { a += in[7 % in.length] * 62L; b ^= a << 6; } else { c -= b >>> 7; d *= 125; }
+        if (in[62 % in.length] > 46) { a += in[10 % in.length] * 63L; b ^= a << 7; } else { c -= b >>> 8; d *= 127; }
+        if (in[63 % in.length] > 53) { a += in[13 % in.length] * 64L; b ^= a << 8; } else { c -= b >>> 9; d *= 129; }
+        if (in[64 % in.length] > 60) { a += in[0 % in.length] * 65L; b ^= a << 1; } else { c -= b >>> 2; d *= 131; }
+        if (in[65 % in.length] > 67) { a += in[3 % in.length] * 66L; b ^= a << 2; } else { c -= b >>> 3; d *= 133; }
+        if (in[66 % in.length] > 74) { a += in[6 % in.length] * 67L; b ^= a << 3; } else { c -= b >>> 4; d *= 135; }
+        if (in[67 % in.length] > 81) { a += in[9 % in.length] * 68L; b ^= a << 4; } else { c -= b >>> 5; d *= 137; }
+        if (in[68 % in.length] > 88) { a += in[12 % in.length] * 69L; b ^= a << 5; } else { c -= b >>> 6; d *= 139; }
+        if (in[69 % in.length] > 95) { a += in[15 % in.length] * 70L; b ^= a << 6; } else { c -= b >>> 7; d *= 141; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[70 % in.length] > 5) { a += in[2 % in.length] * 71L; b ^= a << 7; } else { c -= b >>> 8; d *= 143; }
+        if (in[71 % in.length] > 12) { a += in[5 % in.length] * 72L; b ^= a << 8; } else { c -= b >>> 9; d *= 145; }
+        if (in[72 % in.length] > 19) { a += in[8 % in.length] * 73L; b ^= a << 1; } else { c -= b >>> 2; d *= 147; }
+        if (in[73 % in.length] > 26) { a += in[11 % in.length] * 74L; b ^= a << 2; } else { c -= b >>> 3; d *= 149; }
+        if (in[74 % in.length] > 33) { a += in[14 % in.length] * 75L; b ^= a << 3; } else { c -= b >>> 4; d *= 151; }
+        if (in[75 % in.length] > 40) { a += in[1 % in.length] * 76L; b ^= a << 4; } else { c -= b >>> 5; d *= 153; }
+        if (in[76 % in.length] > 47) { a += in[4 % in.length] * 77L; b ^= a << 5; } else { c -= b >>> 6; d *= 155; }
+        if (in[77 % in.length] > 54) { a += in[7 % in.length] * 78L; b ^= a << 6; } else { c -= b >>> 7; d *= 157; }
+        if (in[78 % in.length] > 61) { a += in[10 % in.length] * 79L; b ^= a << 7; } else { c -= b >>> 8; d *= 159; }
+        if (in[79 % in.length] > 68) { a += in[13 % in.length] * 80L; b ^= a << 8; } else { c -= b >>> 9; d *= 161; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[80 % in.length] > 75) { a += in[0 % in.length] * 81L; b ^= a << 1; } else { c -= b >>> 2; d *= 163; }
+        if (in[81 % in.length] > 82) { a += in[3 % in.length] * 82L; b ^= a << 2; } else { c -= b >>> 3; d *= 165; }
+        if (in[82 % in.length] > 89) { a += in[6 % in.length] * 83L; b ^= a << 3; } else { c -= b >>> 4; d *= 167; }
+        if (in[83 % in.length] > 96) { a += in[9 % in.length] * 84L; b ^= a << 4; } else { c -= b >>> 5; d *= 169; }
+        if (in[84 % in.length] > 6) { a += in[12 % in.length] * 85L; b ^= a << 5; } else { c -= b >>> 6; d *= 171; }
+        if (in[85 % in.length] > 13) { a += in[15 % in.length] * 86L; b ^= a << 6; } else { c -= b >>> 7; d *= 173; }
+        if (in[86 % in.length] > 20) { a += in[2 % in.length] * 87L; b ^= a << 7; } else { c -= b >>> 8; d *= 175; }
+        if (in[87 % in.length] > 27) { a += in[5 % in.length] * 88L; b ^= a << 8; } else { c -= b >>> 9; d *= 177; }
+        if (in[88 % in.length] > 34) { a += in[8 % in.length] * 89L; b ^= a << 1; } else { c -= b >>> 2; d *= 179; }
+        if (in[89 % in.length] > 41) { a += in[11 % in.length] * 90L; b ^= a << 2; } else { c -= b >>> 3; d *= 181; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[90 % in.length] > 48) { a += in[14 % in.length] * 91L; b ^= a << 3; } else { c -= b >>> 4; d *= 183; }
+        if (in[91 % in.length] > 55) { a += in[1 % in.length] * 92L; b ^= a << 4; } else { c -= b >>> 5; d *= 185; }
+        if (in[92 % in.length] > 62) { a += in[4 % in.length] * 93L; b ^= a << 5; } else { c -= b >>> 6; d *= 187; }
+        if (in[93 % in.length] > 69) { a += in[7 % in.length] * 94L; b ^= a << 6; } else { c -= b >>> 7; d *= 189; }
+        if (in[94 % in.length] > 76) { a += in[10 % in.length] * 95L; b ^= a << 7; } else { c -= b >>> 8; d *= 191; }
+        if (in[95 % in.length] > 83) { a += in[13 % in.length] * 96L; b ^= a << 8; } else { c -= b >>> 9; d *= 193; }
+        if (in[96 % in.length] > 90) { a += in[0 % in.length] * 97L; b ^= a << 1; } else { c -= b >>> 2; d *= 195; }
+        if (in[97 % in.length] > 0) { a += in[3 % in.length] * 98L; b ^= a << 2; } else { c -= b >>> 3; d *= 197; }
+        if (in[98 % in.length] > 7) { a += in[6 % in.length] * 99L; b ^= a << 3; } else { c -= b >>> 4; d *= 199; }
+        if (in[99 % in.length] > 14) { a += in[9 % in.length] * 100L; b ^= a << 4; } else { c -= b >>> 5; d *= 201; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[100 % in.length] > 21) { a += in[12 % in.length] * 101L; b ^= a << 5; } else { c -= b >>> 6; d *= 203; }
+        if (in[101 % in.length] > 28) { a += in[15 % in.length] * 102L; b ^= a << 6; } else { c -= b >>> 7; d *= 205; }
+        if (in[102 % in.length] > 35) { a += in[2 % in.length] * 103L; b ^= a << 7; } else { c -= b >>> 8; d *= 207; }
+        if (in[103 % in.length] > 42) { a += in[5 % in.length] * 104L; b ^= a << 8; } else { c -= b >>> 9; d *= 209; }
+        if (in[104 % in.length] > 49) { a += in[8 % in.length] * 105L; b ^= a << 1; } else { c -= b >>> 2; d *= 211; }
+        if (in[105 % in.length] > 56) { a += in[11 % in.length] * 106L; b ^= a << 2; } else { c -= b >>> 3; d *= 213; }
+        if (in[106 % in.length] > 63) { a += in[14 % in.length] * 107L; b ^= a << 3; } else { c -= b >>> 4; d *= 215; }
+        if (in[107 % in.length] > 70) { a += in[1 % in.length] * 108L; b ^= a << 4; } else { c -= b >>> 5; d *= 217; }
+        if (in[108 % in.length] > 77) { a += in[4 % in.length] * 109L; b ^= a << 5; } else { c -= b >>> 6; d *= 219; }
+        if (in[109 % in.length] > 84) { a += in[7 % in.length] * 110L; b ^= a << 6; } else { c -= b >>> 7; d *= 221; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        if (in[110 % in.length] > 91) { a += in[10 % in.length] * 111L; b ^= a << 7; } else { c -= b >>> 8; d *= 223; }
+        if (in[111 % in.length] > 1) { a += in[13 % in.length] * 112L; b ^= a << 8; } else { c -= b >>> 9; d *= 225; }
+        if (in[112 % in.length] > 8) { a += in[0 % in.length] * 113L; b ^= a << 1; } else { c -= b >>> 2; d *= 227; }
+        if (in[113 % in.length] > 15) { a += in[3 % in.length] * 114L; b ^= a << 2; } else { c -= b >>> 3; d *= 229; }
+        if (in[114 % in.length] > 22) { a += in[6 % in.length] * 115L; b ^= a << 3; } else { c -= b >>> 4; d *= 231; }
+        if (in[115 % in.length] > 29) { a += in[9 % in.length] * 116L; b ^= a << 4; } else { c -= b >>> 5; d *= 233; }
+        if (in[116 % in.length] > 36) { a += in[12 % in.length] * 117L; b ^= a << 5; } else { c -= b >>> 6; d *= 235; }
+        if (in[117 % in.length] > 43) { a += in[15 % in.length] * 118L; b ^= a << 6; } else { c -= b >>> 7; d *= 237; }
+        if (in[118 % in.length] > 50) { a += in[2 % in.length] * 119L; b ^= a << 7; } else { c -= b >>> 8; d *= 239; }
+        if (in[119 % in.length] > 57) { a += in[5 % in.length] * 120L; b ^= a << 8; } else { c -= b >>> 9; d *= 241; }
+        switch ((int) (a & 3)) { case 0: b += c; break; case 1: c += d; break; case 2: d += a; break; default: a ^= b; }
+        return a + b + c + d;
+    }
+
+    public double[] interpolate(double[] xs, double[] ys, double[] qs) {
+        double[] out = new double[qs.length];
+        for (int q = 0; q < qs.length; q++) {
+            double x = qs[q];
+            int lo = 0, hi = xs.length - 1;
+            while (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                if (xs[mid] <= x) lo = mid; else hi = mid;
+            }
+            double t = (x - xs[lo]) / (xs[hi] - xs[lo]);
+            out[q] = t < 0 ? ys[lo] : t > 1 ? ys[hi] : ys[lo] + t * (ys[hi] - ys[lo]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.fixtures;
+
+/** 중간 크기 입력: 중첩 루프, switch, 배열/필드 접근이 섞인 일반적인 메서드 */
+public class Loops {
+    private final int[] counts = new int[16];
+
+    public int matrixSum(int[][] m) {
+        int sum = 0;
+        for (int i = 0; i < m.length; i++) {
+            for (int j = 0; j < m[i].length; j++) {
+                if ((i + j) % 2 == 0) sum += m[i][j];
+                else sum -= m[i][j];
+            }
+        }
+        return sum;
+    }
+
+    public String classify(int code) {
+        switch (code) {
+            case 0: return "zero";
+            case 1: return "one";
+            case 2: return "two";
+            case 10: return "ten";
+            case 100: return "hundred";
+            default:
+                return code < 0 ? "negative" : "other";
+        }
+    }
+
+    public void histogram(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetter(c)) counts[c & 15]++;
+            else if (Character.isDigit(c)) counts[(c - '0') & 15] += 2;
+        }
+    }
+}
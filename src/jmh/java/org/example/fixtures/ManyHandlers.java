@@ -0,0 +1,399 @@
+package org.example.fixtures;
+
+/**
+ * 예외 테이블이 매우 큰 입력 (난독화/생성 코드 패턴): 깊게 중첩된 try 와 수백 개의 연속 try.
+ * 본문은 반복 패턴이므로 손으로 고치지 말고 패턴을 유지할 것.
+ */
+public class ManyHandlers {
+
+    public int nested(int[] a) {
+        int r = 0;
+        try { r += a[0 % a.length];
+        try { r += a[1 % a.length];
+        try { r += a[2 % a.length];
+        try { r += a[3 % a.length];
+        try { r += a[4 % a.length];
+        try { r += a[5 % a.length];
+        try { r += a[6 % a.length];
+        try { r += a[7 % a.length];
+        try { r += a[8 % a.length];
+        try { r += a[9 % a.length];
+        try { r += a[10 % a.length];
+        try { r += a[11 % a.length];
+        try { r += a[12 % a.length];
+        try { r += a[13 % a.length];
+        try { r += a[14 % a.length];
+        try { r += a[15 % a.length];
+        try { r += a[16 % a.length];
+        try { r += a[17 % a.length];
+        try { r += a[18 % a.length];
+        try { r += a[19 % a.length];
+        try { r += a[20 % a.length];
+        try { r += a[21 % a.length];
+        try { r += a[22 % a.length];
+        try { r += a[23 % a.length];
+        try { r += a[24 % a.length];
+        try { r += a[25 % a.length];
+        try { r += a[26 % a.length];
+        try { r += a[27 % a.length];
+        try { r += a[28 % a.length];
+        try { r += a[29 % a.length];
+        try { r += a[30 % a.length];
+        try { r += a[31 % a.length];
+        try { r += a[32 % a.length];
+        try { r += a[33 % a.length];
+        try { r += a[34 % a.length];
+        try { r += a[35 % a.length];
+        try { r += a[36 % a.length];
+        try { r += a[37 % a.length];
+        try { r += a[38 % a.length];
+        try { r += a[39 % a.length];
+        r ^= 0x5A;
+        } catch (IllegalStateException e39) { r -= 40; }
+        } catch (NullPointerException e38) { r -= 39; }
+        } catch (ArrayIndexOutOfBoundsException e37) { r -= 38; }
+        } catch (ArithmeticException e36) { r -= 37; }
+        } catch (IllegalStateException e35) { r -= 36; }
+        } catch (NullPointerException e34) { r -= 35; }
+        } catch (ArrayIndexOutOfBoundsException e33) { r -= 34; }
+        } catch (ArithmeticException e32) { r -= 33; }
+        } catch (IllegalStateException e31) { r -= 32; }
+        } catch (NullPointerException e30) { r -= 31; }
+        } catch (ArrayIndexOutOfBoundsException e29) { r -= 30; }
+        } catch (ArithmeticException e28) { r -= 29; }
+        } catch (IllegalStateException e27) { r -= 28; }
+        } catch (NullPointerException e26) { r -= 27; }
+        } catch (ArrayIndexOutOfBoundsException e25) { r -= 26; }
+        } catch (ArithmeticException e24) { r -= 25; }
+        } catch (IllegalStateException e23) { r -= 24; }
+        } catch (NullPointerException e22) { r -= 23; }
+        } catch (ArrayIndexOutOfBoundsException e21) { r -= 22; }
+        } catch (ArithmeticException e20) { r -= 21; }
+        } catch (IllegalStateException e19) { r -= 20; }
+        } catch (NullPointerException e18) { r -= 19; }
+        } catch (ArrayIndexOutOfBoundsException e17) { r -= 18; }
+        } catch (ArithmeticException e16) { r -= 17; }
+        } catch (IllegalStateException e15) { r -= 16; }
+        } catch (NullPointerException e14) { r -= 15; }
+        } catch (ArrayIndexOutOfBoundsException e13) { r -= 14; }
+        } catch (ArithmeticException e12) { r -= 13; }
+        } catch (IllegalStateException e11) { r -= 12; }
+        } catch (NullPointerException e10) { r -= 11; }
+        } catch (ArrayIndexOutOfBoundsException e9) { r -= 10; }
+        } catch (ArithmeticException e8) { r -= 9; }
+        } catch (IllegalStateException e7) { r -= 8; }
+        } catch (NullPointerException e6) { r -= 7; }
+        } catch (ArrayIndexOutOfBoundsException e5) { r -= 6; }
+        } catch (ArithmeticException e4) { r -= 5; }
+        } catch (IllegalStateException e3) { r -= 4; }
+        } catch (NullPointerException e2) { r -= 3; }
+        } catch (ArrayIndexOutOfBoundsException e1) { r -= 2; }
+        } catch (ArithmeticException e0) { r -= 1; }
+        return r;
+    }
+
+    public int sequential(int[] a) {
+        int r = 0;
+        try { r += a[0 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[1 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[2 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[3 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[4 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[5 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[6 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[7 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[8 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[9 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[10 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[11 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[12 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[13 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[14 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[15 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[16 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[17 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[18 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[19 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[20 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[21 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[22 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[23 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[24 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[25 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[26 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[27 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[28 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[29 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[30 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[31 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[32 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[33 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[34 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[35 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[36 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[37 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[38 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[39 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[40 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[41 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[42 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[43 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[44 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[45 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[46 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[47 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[48 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[49 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[50 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[51 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[52 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[53 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[54 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[55 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[56 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[57 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[58 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[59 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[60 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[61 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[62 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[63 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[64 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[65 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[66 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[67 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[68 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[69 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[70 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[71 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[72 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[73 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[74 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[75 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[76 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[77 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[78 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[79 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[80 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[81 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[82 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[83 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[84 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[85 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[86 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[87 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[88 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[89 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[90 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[91 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[92 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[93 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[94 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[95 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[96 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[97 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[98 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[99 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[100 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[101 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[102 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[103 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[104 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[105 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[106 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[107 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[108 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[109 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[110 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[111 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[112 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[113 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[114 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[115 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[116 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[117 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[118 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[119 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[120 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[121 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[122 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[123 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[124 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[125 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[126 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[127 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[128 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[129 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[130 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[131 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[132 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[133 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[134 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[135 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[136 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[137 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[138 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[139 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[140 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[141 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[142 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[143 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[144 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[145 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[146 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[147 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[148 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[149 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[150 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[151 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[152 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[153 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[154 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[155 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[156 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[157 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[158 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[159 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[160 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[161 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[162 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[163 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[164 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[165 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[166 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[167 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[168 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[169 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[170 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[171 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[172 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[173 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[174 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[175 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[176 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[177 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[178 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[179 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[180 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[181 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[182 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[183 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[184 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[185 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[186 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[187 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[188 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[189 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[190 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[191 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[192 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[193 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[194 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[195 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[196 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[197 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[198 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[199 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[200 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[201 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[202 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[203 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[204 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[205 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[206 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[207 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[208 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[209 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[210 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[211 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[212 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[213 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[214 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[215 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[216 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[217 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[218 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[219 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[220 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[221 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[222 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[223 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[224 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[225 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[226 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[227 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[228 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[229 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[230 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[231 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[232 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[233 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[234 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[235 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[236 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[237 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[238 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[239 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[240 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[241 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[242 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[243 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[244 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[245 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[246 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[247 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[248 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[249 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[250 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[251 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[252 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[253 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[254 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[255 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[256 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[257 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[258 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[259 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[260 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[261 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[262 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[263 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[264 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[265 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[266 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[267 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[268 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[269 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[270 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[271 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[272 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[273 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[274 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[275 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[276 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[277 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[278 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[279 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[280 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[281 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[282 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[283 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[284 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[285 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[286 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[287 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[288 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[289 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[290 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[291 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[292 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[293 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[294 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[295 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[296 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[297 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[298 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        try { r += a[299 % a.length] / (r | 1); } catch (ArithmeticException e) { r--; } catch (RuntimeException e) { r++; }
+        return r;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.fixtures;
+
+/** 가장 작은 입력: 접근자와 단순 산술 */
+public class Tiny {
+    private int value;
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public int add(int a, int b) {
+        return a + b;
+    }
+}
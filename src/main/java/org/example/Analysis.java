@@ -1,116 +1,328 @@
 package org.example;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
 
 public class Analysis {
     private final String mode;
     private final String ddgOption;
     private final Diagnosis diagnosis;
+    private final int workers;
+    private JsonExporter.Style jsonStyle = JsonExporter.Style.PRETTY;
+    private OutputFormat outputFormat = OutputFormat.JSON;
+    private ArchiveWriter archive;                 // OutputFormat.JSONL 일 때만 사용
+
+    /** 메서드 결과 출력 형식 */
+    public enum OutputFormat {
+        /** 메서드마다 out/&lt;class&gt;.&lt;method&gt;.json */
+        JSON,
+        /** 클래스마다 out/&lt;class&gt;.bgr ({@link BinaryExporter}) */
+        BINARY,
+        /** 실행 전체가 하나의 JSON Lines archive + 인덱스 ({@link ArchiveWriter}) */
+        JSONL
+    }
+
+    /** 클래스 단위 분석 결과 분류 */
+    private enum Status { SUCCESS, FAIL, INTERFACE, SKIPPED }
+
+    /** 작업 스레드가 돌려주는 클래스 단위 결과 (출력 라인 포함) */
+    private record ClassOutcome(Status status, String line, List<ArchiveWriter.Entry> archived) {
+        ClassOutcome(Status status, String line) { this(status, line, List.of()); }
+    }
 
     public Analysis(String mode, String ddgOption, Diagnosis diagnosis) {
+        this(mode, ddgOption, diagnosis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** workers == 1 이면 호출 스레드에서 순차 실행, 그 외에는 work-stealing 풀 사용 */
+    public Analysis(String mode, String ddgOption, Diagnosis diagnosis, int workers) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be >= 1: " + workers);
         this.mode = mode;
         this.ddgOption = ddgOption;
         this.diagnosis = diagnosis;
+        this.workers = workers;
+    }
+
+    public void setJsonStyle(JsonExporter.Style jsonStyle) {
+        this.jsonStyle = jsonStyle;
     }
 
-    public int run(WalaSession session, List<Path> files, Set<Path> failedFiles) {
-        BcelBytecodeCFG bcel = new BcelBytecodeCFG();
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    /** {@link OutputFormat#JSONL} 출력 대상 (닫는 것은 호출자 책임) */
+    public void setArchive(ArchiveWriter archive) {
+        this.archive = archive;
+    }
+
+    /** label 은 요약 제목과 metrics 파일 이름(out/metrics-&lt;label&gt;.json)에 쓰인다 (예: "pass1", "pass1-part3", "pass2") */
+    public int run(WalaSession session, List<Path> files, Set<Path> failedFiles, String label) {
+        if (outputFormat == OutputFormat.JSONL && archive == null)
+            throw new IllegalStateException("JSONL output requires an archive (setArchive)");
         WalaIRProjector projector = new WalaIRProjector();
+        ClassAnalyzer classAnalyzer = new ClassAnalyzer(new BcelBytecodeCFG(), projector);
+        Metrics metrics = new Metrics();
+        session.setMetrics(metrics);
 
         int successCount = 0;
         int failCount = 0;
         int interfaceCount = 0;
 
-        for (Path file : files) {
-            String fileName = file.getFileName().toString();
-            boolean classHasError = false;
-            boolean hasNormalMethodSuccess = false;
-            List<String> failedMethodNames = new ArrayList<>();
+        // 클래스 단위 작업을 병렬로 실행하되, 결과는 입력 순서대로 수집하여 순차 실행과 동일한 출력을 보장.
+        // 앞선 작업은 최대 2 x workers 개까지만 제출해, 순서를 기다리는 결과(archive 항목 등)가 쌓이는 양을 제한
+        ExecutorService pool = (workers == 1) ? null : Executors.newWorkStealingPool(workers);
+        try {
+            int window = (pool == null) ? 1 : 2 * workers;
+            Deque<Future<ClassOutcome>> inFlight = new ArrayDeque<>(window);
+            int submitted = 0;
 
-            try {
-                BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClassFile(file.toString());
-                String className = scan.internalName.replace('/', '.');
-
-                try {
-                    if (projector.isInterfaceClass(session, scan.internalName) || scan.methods.isEmpty()) {
-                        System.out.println("[RESULT] INTERFACE : " + className);
-                        interfaceCount++;
-                        continue;
+            for (int i = 0; i < files.size(); i++) {
+                while (submitted < files.size() && inFlight.size() < window) {
+                    Path file = files.get(submitted++);
+                    Callable<ClassOutcome> task = () -> analyzeClass(session, file, projector, classAnalyzer, metrics);
+                    inFlight.add(pool == null ? completed(task) : pool.submit(task));
+                }
+                ClassOutcome outcome = await(inFlight.poll());
+                for (ArchiveWriter.Entry e : outcome.archived) appendToArchive(e); // 입력 순서대로 단일 스레드에서 기록
+                if (outcome.line != null) System.out.println(outcome.line);
+                switch (outcome.status) {
+                    case SUCCESS -> successCount++;
+                    case INTERFACE -> interfaceCount++;
+                    case FAIL -> {
+                        failCount++;
+                        failedFiles.add(files.get(i));
                     }
-                } catch (Exception e) {
-                    // WALA가 부모 클래스를 못 찾아서 로드에 실패하면 여기서 바로 진단하고 다음 파일로!
-                    diagnosis.addMissingLibrary(scan.superName, className);
-                    diagnosis.analyzeError(e.getMessage(), className);
-                    failCount++;
-                    failedFiles.add(file);
-                    System.out.println("[RESULT] FAIL      : " + className + " ( Class Hierarchy Incomplete )");
-                    continue;
+                    case SKIPPED -> { }
                 }
+            }
+        } finally {
+            if (pool != null) pool.shutdownNow();
+        }
 
-                // 3. 의존성 문제가 없다면 메서드 분석 루프 시작
-                for (var ms : scan.methods) {
-                    try {
-                        if (projector.isAbstractMethod(session, scan.internalName, ms.name, ms.desc)) {
-                            continue;
-                        }
+        System.out.println("\n" + "=".repeat(40));
+        System.out.println(">>> Pass Finished Summary (" + label + ")");
+        System.out.println("  - Success   : " + successCount);
+        System.out.println("  - Fail      : " + failCount);
+        if (interfaceCount>0) System.out.println("  - Interface : " + interfaceCount);
+        if (session.methodsWithoutNodeCount() > 0)
+            System.out.println("  - No CGNode : " + session.methodsWithoutNodeCount() + " method(s) skipped for DDG");
+        session.irCache.printSummary(System.out);
+        if (session.modRefStats() != null) System.out.println("  - Mod/Ref   : " + session.modRefStats());
+        metrics.printSummary(System.out);
+        Path metricsFile = Paths.get("out", "metrics-" + label + ".json");
+        try {
+            metrics.write(metricsFile);
+            System.out.println("  - Metrics   : " + metricsFile);
+        } catch (IOException e) {
+            System.out.println("  - Metrics   : not written (" + e.getMessage() + ")");
+        }
+        System.out.println("=".repeat(40));
 
-                        // 2. 일반 메서드인 경우에만 CFG 빌드 및 분석 진행
-                        BcelBytecodeCFG.Graph instrCFG = bcel.build(file.toString(), ms.name, ms.desc, mode);
-                        WalaIRProjector.Flow flow = projector.analyze(session, scan.internalName, ms.name, ms.desc, instrCFG, ddgOption);
+        return successCount;
+    }
+
+    /** 하나의 .class 파일을 분석한다. 공유 상태는 Diagnosis/WalaSession(동기화됨)만 사용 */
+    private ClassOutcome analyzeClass(WalaSession session, Path file, WalaIRProjector projector,
+                                      ClassAnalyzer classAnalyzer, Metrics metrics) {
+        String fileName = file.getFileName().toString();
+        boolean classHasError = false;
+        boolean hasNormalMethodSuccess = false;
+        List<String> failedMethodNames = new ArrayList<>();
+        List<BinaryExporter.Entry> binaryEntries = new ArrayList<>();
+        List<ArchiveWriter.Entry> archived = new ArrayList<>();
+
+        try {
+            Metrics.Span span = metrics.start();
+            JfrEvents.ClassScan scanEvent = new JfrEvents.ClassScan();
+            scanEvent.begin();
+            BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClassFile(file);
+            metrics.record(Metrics.Phase.SCAN, span);
+            String className = scan.internalName.replace('/', '.');
+
+            try {
+                if (projector.isInterfaceClass(session, scan.internalName) || scan.methods.isEmpty()) {
+                    return new ClassOutcome(Status.INTERFACE, "[RESULT] INTERFACE : " + className);
+                }
+            } catch (Exception e) {
+                // WALA가 부모 클래스를 못 찾아서 로드에 실패하면 여기서 바로 진단하고 다음 파일로!
+                diagnosis.addMissingLibrary(scan.superName, className);
+                diagnosis.analyzeError(e.getMessage(), className);
+                return new ClassOutcome(Status.FAIL, "[RESULT] FAIL      : " + className + " ( Class Hierarchy Incomplete )");
+            }
 
-                        if (flow != null) {
+            // 3. 의존성 문제가 없다면 1회 파싱 결과로 모든 메서드의 CFG를 만들고 분석 루프 시작
+            span = metrics.start();
+            ClassAnalyzer.Graphs graphs = classAnalyzer.build(scan.javaClass, mode);
+            metrics.record(Metrics.Phase.BCEL, span);
+            scanEvent.end();
+            if (scanEvent.shouldCommit()) {
+                scanEvent.className = className;
+                scanEvent.mode = mode;
+                scanEvent.methods = graphs.graphs().size();
+                for (BcelBytecodeCFG.Graph g : graphs.graphs().values()) {
+                    scanEvent.instructions += g.nodes.size();
+                    scanEvent.cfgEdges += g.cfgEdges.edgeCount();
+                    scanEvent.exEdges += g.exEdges.edgeCount();
+                }
+                scanEvent.commit();
+            }
+            List<ClassAnalyzer.MethodResult> results = classAnalyzer.analyze(session, scan.internalName, graphs,
+                    scan.methods, ddgOption, metrics, (ms, instrCFG, flow) -> {
+                        if (outputFormat == OutputFormat.BINARY) {
+                            binaryEntries.add(new BinaryExporter.Entry(ms.name, ms.desc, instrCFG, flow)); // 클래스 단위로 기록
+                            return;
+                        }
+                        Metrics.Span exportSpan = metrics.start();
+                        JfrEvents.Export exportEvent = new JfrEvents.Export();
+                        exportEvent.begin();
+                        if (outputFormat == OutputFormat.JSONL) {
+                            // 직렬화는 작업 스레드에서, archive 기록은 run() 에서 입력 순서대로
+                            JsonExporter.Style lineStyle = (jsonStyle == JsonExporter.Style.COMPACT)
+                                    ? JsonExporter.Style.COMPACT : JsonExporter.Style.PLAIN;
+                            archived.add(new ArchiveWriter.Entry(className + "." + ms.name + ms.desc,
+                                    JsonExporter.toBytes(scan.internalName, ms.name, ms.desc, instrCFG, flow, lineStyle)));
+                        } else {
                             Path outDir = Paths.get("out");
                             Files.createDirectories(outDir);
-                            String qName = scan.internalName.replace('/', '.') + "." + ms.name;
-                            String safeFileName = qName.replace("<", "").replace(">", "") + ".json";
-                            JsonExporter.export(scan.internalName, ms.name, ms.desc, instrCFG, flow, outDir.resolve(safeFileName));
-                            hasNormalMethodSuccess = true;
+                            JsonExporter.export(scan.internalName, ms.name, ms.desc, instrCFG, flow,
+                                    outDir.resolve(jsonFileName(className, ms.name)), jsonStyle);
                         }
-                    } catch (Exception e) {
-                        failedMethodNames.add(ms.name);
-                        diagnosis.analyzeError(e.getMessage(), className);
-                        if (e.getMessage().contains("Class not found: L" + scan.internalName)) {
-                            diagnosis.addMissingLibrary(scan.superName.replace('/', '.'), scan.internalName);
-                        }
-                        classHasError = true;
+                        metrics.record(Metrics.Phase.EXPORT, exportSpan);
+                        commitExport(exportEvent, className + "." + ms.name + ms.desc, instrCFG, flow);
+                    });
+            for (ClassAnalyzer.MethodResult r : results) {
+                if (r.status() == ClassAnalyzer.Status.ANALYZED) {
+                    hasNormalMethodSuccess = true;
+                } else if (r.status() == ClassAnalyzer.Status.FAILED) {
+                    Exception e = r.failure();
+                    failedMethodNames.add(r.sig().name);
+                    diagnosis.analyzeError(e.getMessage(), className);
+                    if (String.valueOf(e.getMessage()).contains("Class not found: L" + scan.internalName)) {
+                        diagnosis.addMissingLibrary(scan.superName.replace('/', '.'), scan.internalName);
                     }
+                    classHasError = true;
                 }
+            }
 
-                // 최종 분류 로직
-                if (classHasError) {
-                    failCount++;
-                    failedFiles.add(file);
-                    String methods = String.join(", ", failedMethodNames);
-                    System.out.println("[RESULT] FAIL      : " + className+ " ( " + methods + " )");
-                } else if (hasNormalMethodSuccess) {
-                    successCount++;
-                    System.out.println("[RESULT] SUCCESS   : " + className);
+            if (!binaryEntries.isEmpty()) {
+                span = metrics.start();
+                JfrEvents.Export exportEvent = new JfrEvents.Export();
+                exportEvent.begin();
+                Path outDir = Paths.get("out");
+                Files.createDirectories(outDir);
+                BinaryExporter.export(scan.internalName, binaryEntries, outDir.resolve(className + ".bgr"));
+                metrics.record(Metrics.Phase.EXPORT, span); // binary 는 클래스 단위
+                exportEvent.end();
+                if (exportEvent.shouldCommit()) {
+                    exportEvent.target = className;
+                    exportEvent.format = outputFormat.name();
+                    exportEvent.mode = mode;
+                    for (BinaryExporter.Entry e : binaryEntries) {
+                        exportEvent.instructions += e.graph().nodes.size();
+                        exportEvent.edges += edgeCount(e.graph(), e.flow());
+                    }
+                    exportEvent.commit();
                 }
+            }
 
-            } catch (Exception ex) {
-                // 스캔 실패
-                failCount++;
-                failedFiles.add(file);
-                String backupClassName = fileName.endsWith(".class")
-                        ? fileName.substring(0, fileName.length() - 6)
-                        : fileName;
-                diagnosis.analyzeError(ex.getMessage(), backupClassName);
-                System.out.println("[RESULT] FAIL      : " + file.getFileName() + " ( Error: " + ex.getMessage() + " )");
+            // 최종 분류 로직
+            if (classHasError) {
+                String methods = String.join(", ", failedMethodNames);
+                return new ClassOutcome(Status.FAIL, "[RESULT] FAIL      : " + className+ " ( " + methods + " )", archived);
+            } else if (hasNormalMethodSuccess) {
+                return new ClassOutcome(Status.SUCCESS, "[RESULT] SUCCESS   : " + className, archived);
             }
+            return new ClassOutcome(Status.SKIPPED, null, archived);
+
+        } catch (Exception ex) {
+            // 스캔 실패
+            String backupClassName = fileName.endsWith(".class")
+                    ? fileName.substring(0, fileName.length() - 6)
+                    : fileName;
+            diagnosis.analyzeError(ex.getMessage(), backupClassName);
+            return new ClassOutcome(Status.FAIL, "[RESULT] FAIL      : " + file.getFileName() + " ( Error: " + ex.getMessage() + " )");
         }
+    }
 
-        System.out.println("\n" + "=".repeat(40));
-        System.out.println(">>> Pass Finished Summary");
-        System.out.println("  - Success   : " + successCount);
-        System.out.println("  - Fail      : " + failCount);
-        if (interfaceCount>0) System.out.println("  - Interface : " + interfaceCount);
-        System.out.println("=".repeat(40));
+    /** JSON 출력 파일 이름: &lt;class&gt;.&lt;method&gt;.json ('&lt;', '&gt;' 제거, 오버로드는 같은 파일) */
+    private static String jsonFileName(String className, String methodName) {
+        return (className + "." + methodName).replace("<", "").replace(">", "") + ".json";
+    }
 
-        return successCount;
+    /**
+     * 증분 실행에서 사라진 클래스/메서드의 이전 출력을 지우고 지운 파일 수를 돌려준다.
+     * JSON 은 메서드 이름별 파일을, BINARY 는 클래스 전체가 사라졌을 때만 클래스 파일을 지운다
+     * (메서드만 없어진 클래스는 다시 분석되며 .bgr 이 통째로 새로 쓰임).
+     * JSONL archive 는 항목을 지울 수 없으므로 거부한다 (증분 실행은 JSONL 과 함께 쓸 수 없음).
+     */
+    public int deleteOutputs(String internalName, Collection<String> methodNames, boolean wholeClass) throws IOException {
+        Path outDir = Paths.get("out");
+        String className = internalName.replace('/', '.');
+        int deleted = 0;
+        if (outputFormat == OutputFormat.BINARY) {
+            if (wholeClass && Files.deleteIfExists(outDir.resolve(className + ".bgr"))) deleted++;
+        } else if (outputFormat == OutputFormat.JSON) {
+            for (String m : methodNames) {
+                if (Files.deleteIfExists(outDir.resolve(jsonFileName(className, m)))) deleted++;
+            }
+        } else {
+            throw new IllegalStateException("Cannot delete outputs from a JSONL archive (incremental runs do not support JSONL)");
+        }
+        return deleted;
+    }
+
+    private void commitExport(JfrEvents.Export event, String signature, BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = signature;
+            event.format = outputFormat.name();
+            event.mode = mode;
+            event.instructions = g.nodes.size();
+            event.edges = edgeCount(g, f);
+            event.commit();
+        }
+    }
+
+    private static int edgeCount(BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f) {
+        return g.cfgEdges.edgeCount() + g.exEdges.edgeCount() + f.dfg.edgeCount() + f.cdg.edgeCount() + f.ddg.edgeCount();
+    }
+
+    private void appendToArchive(ArchiveWriter.Entry e) {
+        try {
+            archive.append(e);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write archive", ex);
+        }
+    }
+
+    private static Future<ClassOutcome> completed(Callable<ClassOutcome> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static ClassOutcome await(Future<ClassOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analysis interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        }
     }
-}
\ No newline at end of file
+}
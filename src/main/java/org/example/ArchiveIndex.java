@@ -0,0 +1,58 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * {@link ArchiveWriter} 가 만든 archive.idx 를 읽어 시그니처로 메서드 JSON 을 바로 꺼낸다.
+ * 같은 시그니처가 여러 번 기록된 경우(예: Healing 재분석) 마지막 기록이 유효하다.
+ */
+public final class ArchiveIndex {
+
+    private final Path archive;
+    private final Map<String, long[]> entries; // signature -> {offset, length}
+
+    private ArchiveIndex(Path archive, Map<String, long[]> entries) {
+        this.archive = archive;
+        this.entries = entries;
+    }
+
+    public static ArchiveIndex load(Path archive) throws IOException {
+        Map<String, long[]> entries = new LinkedHashMap<>();
+        try (BufferedReader br = Files.newBufferedReader(ArchiveWriter.indexPath(archive), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                int t1 = line.indexOf('\t');
+                int t2 = line.indexOf('\t', t1 + 1);
+                if (t1 < 0 || t2 < 0) continue;
+                entries.put(ArchiveWriter.unescape(line.substring(t2 + 1)),
+                        new long[]{Long.parseLong(line.substring(0, t1)), Long.parseLong(line.substring(t1 + 1, t2))});
+            }
+        }
+        return new ArchiveIndex(archive, entries);
+    }
+
+    public Set<String> signatures() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /** 메서드의 JSON (UTF-8, 줄바꿈 제외). 없으면 null */
+    public byte[] read(String signature) throws IOException {
+        long[] e = entries.get(signature);
+        if (e == null) return null;
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(e[1]));
+        try (FileChannel ch = FileChannel.open(archive, StandardOpenOption.READ)) {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, e[0] + buf.position()) < 0) throw new IOException("truncated archive: " + archive);
+            }
+        }
+        return buf.array();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 메서드별 파일 대신 실행 전체를 하나의 JSON Lines 파일(한 줄 = 메서드 하나)로 기록한다.
+ * 각 줄의 위치는 &lt;archive&gt;.idx 에 "offset \t length \t signature" 로 함께 기록되어
+ * {@link ArchiveIndex} 로 임의 접근할 수 있다. 메서드 이름에는 탭이나 줄바꿈도 올 수 있으므로
+ * signature 의 역슬래시, 탭, CR, LF 는 두 글자 \\, \t, \r, \n 으로 escape 한다.
+ * 두 파일 모두 버퍼링된 append-only 스트림이다.
+ */
+public final class ArchiveWriter implements Closeable {
+
+    public static final Path DEFAULT_PATH = Paths.get("out", "graphs.jsonl");
+
+    /** 기록할 메서드 하나: 전체 시그니처(예: a.b.C.m(I)V)와 한 줄짜리 JSON */
+    public record Entry(String signature, byte[] json) {}
+
+    private final OutputStream data;
+    private final Writer index;
+    private long position;
+
+    private ArchiveWriter(OutputStream data, Writer index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    /** archive 와 archive.idx 를 새로 만든다 (기존 파일은 덮어씀) */
+    public static ArchiveWriter open(Path archive) throws IOException {
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        OutputStream data = new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16);
+        Writer index = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(indexPath(archive)), StandardCharsets.UTF_8), 1 << 14);
+        return new ArchiveWriter(data, index);
+    }
+
+    public static Path indexPath(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".idx");
+    }
+
+    public synchronized void append(Entry e) throws IOException {
+        data.write(e.json());
+        data.write('\n');
+        index.write(position + "\t" + e.json().length + "\t" + escape(e.signature()) + "\n");
+        position += e.json().length + 1;
+    }
+
+    /** 인덱스 한 줄 안에 들어가도록 signature 를 escape */
+    static String escape(String signature) {
+        StringBuilder sb = new StringBuilder(signature.length());
+        for (int i = 0; i < signature.length(); i++) {
+            char c = signature.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\r' -> sb.append("\\r");
+                case '\n' -> sb.append("\\n");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** {@link #escape} 의 역 */
+    static String unescape(String escaped) {
+        if (escaped.indexOf('\\') < 0) return escaped;
+        StringBuilder sb = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c != '\\' || i + 1 == escaped.length()) {
+                sb.append(c);
+                continue;
+            }
+            char n = escaped.charAt(++i);
+            sb.append(switch (n) {
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'n' -> '\n';
+                default -> n;
+            });
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (data; index) {
+            data.flush();
+            index.flush();
+        }
+    }
+}
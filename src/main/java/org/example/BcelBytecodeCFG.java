@@ -1,9 +1,11 @@
 package org.example;
 
+import org.apache.bcel.Const;
 import org.apache.bcel.classfile.*;
 import org.apache.bcel.generic.*;
 
-import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -15,15 +17,20 @@ public class BcelBytecodeCFG {
     /** 명령어 단위 그래프 */
     public static class Graph {
         public final Map<Integer, InstructionInfo> nodes = new LinkedHashMap<>(); // key = offset
-        public final Map<Integer, Set<Integer>> cfgEdges = new LinkedHashMap<>(); // 정상 흐름 엣지
-        public final Map<Integer, Set<Integer>> exEdges = new LinkedHashMap<>();  // 예외 핸들러 엣지
-        public final Map<Integer, Set<Integer>> dfgEdges = new LinkedHashMap<>(); // dfg 엣지
+        public IntGraph cfgEdges = IntGraph.EMPTY; // 정상 흐름 엣지
+        public IntGraph exEdges = IntGraph.EMPTY;  // 예외 핸들러 엣지
+        public IntGraph dfgEdges = IntGraph.EMPTY; // dfg 엣지
         public byte[] rawCode; // 라벨링/검증용
     }
 
+    /** 단일 메서드 빌드 (하위 호환용). 여러 메서드를 분석할 때는 {@link #buildAll}을 사용한다. */
     public Graph build(String classFilePath, String methodName, String methodDesc, String mode) throws Exception {
-        ClassParser cp = new ClassParser(new FileInputStream(classFilePath), classFilePath);
-        JavaClass jc = cp.parse();
+        return build(Files.readAllBytes(Paths.get(classFilePath)), methodName, methodDesc, mode);
+    }
+
+    /** 메모리의 클래스 바이트에서 단일 메서드 빌드 */
+    public Graph build(byte[] classBytes, String methodName, String methodDesc, String mode) throws Exception {
+        JavaClass jc = BcelClassIntrospector.parse(classBytes, "<memory>");
         ConstantPoolGen cpg = new ConstantPoolGen(jc.getConstantPool());
 
         Method target = null;
@@ -33,13 +40,47 @@ public class BcelBytecodeCFG {
             }
         }
         if (target == null) throw new IllegalArgumentException("Method not found");
+        return build(target, cpg, mode);
+    }
+
+    /** 1회 파싱된 클래스에서 Code 있는 모든 메서드의 그래프를 생성 (ConstantPoolGen 공유). 한 메서드라도 실패하면 예외 */
+    public Map<BcelClassIntrospector.MethodSig, Graph> buildAll(JavaClass jc, String mode) {
+        Map<BcelClassIntrospector.MethodSig, RuntimeException> failures = new LinkedHashMap<>();
+        Map<BcelClassIntrospector.MethodSig, Graph> graphs = buildAll(jc, mode, failures);
+        if (!failures.isEmpty()) throw failures.values().iterator().next();
+        return graphs;
+    }
+
+    /**
+     * 위와 같지만 메서드 단위로 실패를 격리한다. 그래프를 만들지 못한 메서드는 결과에서 빠지고 failures 에 기록되므로
+     * 호출자는 그 메서드만 실패로 보고하고 나머지 메서드는 계속 분석할 수 있다.
+     */
+    public Map<BcelClassIntrospector.MethodSig, Graph> buildAll(JavaClass jc, String mode,
+                                                                Map<BcelClassIntrospector.MethodSig, RuntimeException> failures) {
+        ConstantPoolGen cpg = new ConstantPoolGen(jc.getConstantPool());
+        Map<BcelClassIntrospector.MethodSig, Graph> graphs = new LinkedHashMap<>();
+        for (Method m : jc.getMethods()) {
+            if (m.getCode() == null) continue;                     // abstract/native 제외
+            BcelClassIntrospector.MethodSig sig = new BcelClassIntrospector.MethodSig(m.getName(), m.getSignature());
+            try {
+                graphs.put(sig, build(m, cpg, mode));
+            } catch (RuntimeException e) {
+                failures.put(sig, e);
+            }
+        }
+        return graphs;
+    }
 
+    private Graph build(Method target, ConstantPoolGen cpg, String mode) {
         Code code = target.getCode();
         byte[] bytes = code.getCode();
         InstructionList il = new InstructionList(bytes);
         InstructionHandle[] ihs = il.getInstructionHandles();
         Graph g = new Graph();
         g.rawCode = bytes;
+        IntGraph.Builder cfg = new IntGraph.Builder(ihs.length);
+        IntGraph.Builder ex = new IntGraph.Builder(ihs.length);
+        IntGraph.Builder dfg = new IntGraph.Builder(ihs.length);
 
         // 1) 노드 및 맵 초기화
         for (InstructionHandle ih : ihs) {
@@ -48,46 +89,12 @@ public class BcelBytecodeCFG {
             String hex = HexUtils.sliceToHex(bytes, offset, inst.getLength());
             String ops = operandsToString(inst, ih, cpg);
             g.nodes.put(offset, new InstructionInfo(offset, inst.getLength(), inst.getName().toUpperCase(), ops, hex));
-            g.cfgEdges.put(offset, new LinkedHashSet<>());
-            g.exEdges.put(offset, new LinkedHashSet<>());
-            g.dfgEdges.put(offset, new LinkedHashSet<>());
-        }
-
-        // 2) 물리적 DFG 추출: 로컬 변수 슬롯 추적 (간이 Reaching Definitions)
-        if (mode.equals("DATA_LOCAL") || mode.equals("DATA_STACK")) {
-            Map<Integer, Integer> lastWriteToSlot = new HashMap<>(); // slotIndex -> offset
-            // 간단한 스택 시뮬레이션 (Stack-based DFG)
-
-            for (InstructionHandle ih : ihs) {
-                Instruction inst = ih.getInstruction();
-                int off = ih.getPosition();
-
-                // 슬롯 기반 추적: STORE 시 기록, LOAD 시 엣지 생성
-                if (inst instanceof StoreInstruction si) {
-                    lastWriteToSlot.put(si.getIndex(), off);
-                } else if (inst instanceof LoadInstruction li) {
-                    Integer srcOff = lastWriteToSlot.get(li.getIndex());
-                    if (srcOff != null) g.dfgEdges.get(srcOff).add(off);
-                }
-            }
-        }
-
-        // 스택 기반 추적: 값을 생산하는 명령어와 소비하는 명령어 연결
-        if (mode.equals("DATA_STACK")) {
-            Stack<Integer> producerStack = new Stack<>();
-            for (InstructionHandle ih : ihs) {
-                Instruction inst = ih.getInstruction();
-                int off = ih.getPosition();
-                int consume = inst.consumeStack(cpg);
-                for (int i = 0; i < consume && !producerStack.isEmpty(); i++) {
-                    g.dfgEdges.get(producerStack.pop()).add(off);
-                }
-                int produce = inst.produceStack(cpg);
-                for (int i = 0; i < produce; i++) producerStack.push(off);
-            }
+            cfg.addNode(offset);
+            ex.addNode(offset);
+            dfg.addNode(offset);
         }
 
-        // 3) 정상 흐름 엣지(SEQUENCE/JUMP/IF*/SWITCH)
+        // 2) 정상 흐름 엣지(SEQUENCE/JUMP/IF*/SWITCH)
         for (InstructionHandle ih : ihs) {
             int off = ih.getPosition();
             Instruction inst = ih.getInstruction();
@@ -99,40 +106,332 @@ public class BcelBytecodeCFG {
                     !(inst instanceof ATHROW) &&
                     !(inst instanceof Select) &&
                     !(inst instanceof IfInstruction)) {
-                g.cfgEdges.get(off).add(next.getPosition());    // fall-through
+                cfg.addEdge(off, next.getPosition());    // fall-through
             }
             if (inst instanceof GotoInstruction) {
-                g.cfgEdges.get(off).add(((GotoInstruction) inst).getTarget().getPosition());
+                cfg.addEdge(off, ((GotoInstruction) inst).getTarget().getPosition());
             }
             if (inst instanceof IfInstruction) {
                 InstructionHandle tgt = ((IfInstruction) inst).getTarget();
-                g.cfgEdges.get(off).add(tgt.getPosition());     // 참
-                if (next != null) g.cfgEdges.get(off).add(next.getPosition()); // 거짓
+                cfg.addEdge(off, tgt.getPosition());     // 참
+                if (next != null) cfg.addEdge(off, next.getPosition()); // 거짓
             }
             if (inst instanceof Select) {
                 Select sel = (Select) inst;
                 for (InstructionHandle t : sel.getTargets())
-                    g.cfgEdges.get(off).add(t.getPosition());     // case들
-                g.cfgEdges.get(off).add(sel.getTarget().getPosition()); // default
+                    cfg.addEdge(off, t.getPosition());     // case들
+                cfg.addEdge(off, sel.getTarget().getPosition()); // default
             }
         }
 
-        // 4) 예외 핸들러 엣지: 범위 [startPC, endPC) 내 → handlerPC
+        // 3) 예외 핸들러 엣지: 범위 [startPC, endPC) 내 → handlerPC
         CodeException[] handlers = code.getExceptionTable();
-        if (handlers != null) {
-            for (CodeException ce : handlers) {
-                int handlerPC = ce.getHandlerPC();
-                int startPC = ce.getStartPC();
-                int endPC = ce.getEndPC();
-                for (InstructionHandle ih : ihs) {
-                    int off = ih.getPosition();
-                    if (off >= startPC && off < endPC) {
-                        g.exEdges.get(off).add(handlerPC);
+        if (handlers != null && handlers.length > 0) {
+            addExceptionEdges(ihs, handlers, ex);
+        }
+
+        g.cfgEdges = cfg.build();
+        g.exEdges = ex.build();
+
+        // 4) 물리적 DFG 추출: 로컬 변수 슬롯의 Reaching Definitions (cfg + ex 흐름 위 worklist)
+        if (mode.equals("DATA_LOCAL") || mode.equals("DATA_STACK")) {
+            addLocalDefUseEdges(ihs, g.cfgEdges, g.exEdges, dfg);
+        }
+
+        // 5) 스택 기반 추적: 값을 생산하는 명령어와 소비하는 명령어 연결 (분기/핸들러를 따르는 추상 스택)
+        if (mode.equals("DATA_STACK")) {
+            addStackDefUseEdges(ihs, g.cfgEdges, g.exEdges, cpg, dfg);
+        }
+
+        g.dfgEdges = dfg.build();
+        return g;
+    }
+
+    /**
+     * 로컬 변수 슬롯에 대한 Reaching Definitions. 정의 지점은 xSTORE 와 IINC, 사용 지점은 xLOAD 와 IINC 이며,
+     * 사용 지점마다 도달하는 모든 정의에서 def -> use 엣지를 만든다.
+     * 기본 블록(cfg 기준)마다 IN 비트셋(정의 지점 번호)을 두고 worklist 로 고정점까지 전파한다.
+     * 예외 엣지는 블록 중간에서도 나갈 수 있으므로, 블록을 훑으며 보호 구간 명령어 직전의 집합을 핸들러 블록에 합친다.
+     * cfg/ex 의 row 는 ihs 순서와 같아야 한다 (build 에서 모든 명령어를 순서대로 addNode).
+     */
+    static void addLocalDefUseEdges(InstructionHandle[] ihs, IntGraph cfg, IntGraph ex, IntGraph.Builder dfg) {
+        int n = ihs.length;
+        if (n == 0) return;
+        int[] offsets = new int[n];
+        int[] indexOf = new int[ihs[n - 1].getPosition() + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i] = ihs[i].getPosition();
+            indexOf[offsets[i]] = i;
+        }
+
+        // 정의 지점 번호 매기기, 슬롯별 kill 집합
+        int[] defAt = new int[n];                    // 명령어 -> 정의 번호 (-1: 없음)
+        int[] useSlot = new int[n];                  // 명령어 -> 읽는 슬롯 (-1: 없음)
+        int[] defSlot = new int[n];                  // 정의 번호 -> 슬롯
+        boolean[] wide = new boolean[n];             // 정의 번호 -> long/double (슬롯 2개)
+        Map<Integer, BitSet> defsOfSlot = new HashMap<>();
+        int defs = 0;
+        for (int i = 0; i < n; i++) {
+            Instruction inst = ihs[i].getInstruction();
+            defAt[i] = -1;
+            useSlot[i] = -1;
+            if (inst instanceof LoadInstruction li) {
+                useSlot[i] = li.getIndex();
+            } else if (inst instanceof IINC inc) {
+                useSlot[i] = inc.getIndex();
+            }
+            if (inst instanceof StoreInstruction || inst instanceof IINC) {
+                int slot = ((LocalVariableInstruction) inst).getIndex();
+                defSlot[defs] = slot;
+                wide[defs] = inst instanceof LSTORE || inst instanceof DSTORE;
+                defsOfSlot.computeIfAbsent(slot, k -> new BitSet()).set(defs);
+                defAt[i] = defs++;
+            }
+        }
+        if (defs == 0) return;
+
+        // 기본 블록: 첫 명령어, 예외 핸들러, cfg 선행자가 1개가 아니거나 유일한 선행자가 바로 앞 fall-through 가 아닌 명령어
+        int[] preds = new int[n];
+        boolean[] leader = new boolean[n];
+        leader[0] = true;
+        for (int i = 0; i < n; i++) {
+            for (int e = cfg.rowStart(i); e < cfg.rowEnd(i); e++) preds[indexOf[cfg.target(e)]]++;
+            for (int e = ex.rowStart(i); e < ex.rowEnd(i); e++) leader[indexOf[ex.target(e)]] = true;
+        }
+        for (int i = 1; i < n; i++) {
+            boolean fallsOnlyHere = cfg.rowEnd(i - 1) - cfg.rowStart(i - 1) == 1
+                    && cfg.target(cfg.rowStart(i - 1)) == offsets[i];
+            if (preds[i] != 1 || !fallsOnlyHere) leader[i] = true;
+        }
+        int[] blockOf = new int[n];
+        int[] blockStart = new int[n + 1];
+        int blocks = 0;
+        for (int i = 0; i < n; i++) {
+            if (leader[i]) blockStart[blocks++] = i;
+            blockOf[i] = blocks - 1;
+        }
+        blockStart[blocks] = n;
+
+        BitSet[] in = new BitSet[blocks];
+        for (int b = 0; b < blocks; b++) in[b] = new BitSet(defs);
+        ArrayDeque<Integer> work = new ArrayDeque<>(blocks);
+        boolean[] queued = new boolean[blocks];
+        for (int b = 0; b < blocks; b++) { work.add(b); queued[b] = true; }
+
+        while (!work.isEmpty()) {
+            int b = work.poll();
+            queued[b] = false;
+            BitSet cur = (BitSet) in[b].clone();
+            for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                for (int e = ex.rowStart(i); e < ex.rowEnd(i); e++) {
+                    int h = blockOf[indexOf[ex.target(e)]];
+                    if (mergeInto(in[h], cur) && !queued[h]) { work.add(h); queued[h] = true; }
+                }
+                if (defAt[i] >= 0) kill(cur, defAt[i], defSlot, wide, defsOfSlot);
+            }
+            int last = blockStart[b + 1] - 1;
+            for (int e = cfg.rowStart(last); e < cfg.rowEnd(last); e++) {
+                int s = blockOf[indexOf[cfg.target(e)]];
+                if (mergeInto(in[s], cur) && !queued[s]) { work.add(s); queued[s] = true; }
+            }
+        }
+
+        // 고정점의 IN 으로 각 사용 지점에 도달하는 정의를 연결 (오프셋 순)
+        int[] defOffset = new int[defs];
+        for (int i = 0; i < n; i++) if (defAt[i] >= 0) defOffset[defAt[i]] = offsets[i];
+        for (int b = 0; b < blocks; b++) {
+            BitSet cur = (BitSet) in[b].clone();
+            for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                BitSet slotDefs = useSlot[i] < 0 ? null : defsOfSlot.get(useSlot[i]);
+                if (slotDefs != null) {
+                    for (int d = cur.nextSetBit(0); d >= 0; d = cur.nextSetBit(d + 1)) {
+                        if (slotDefs.get(d)) dfg.addEdge(defOffset[d], offsets[i]);
                     }
                 }
+                if (defAt[i] >= 0) kill(cur, defAt[i], defSlot, wide, defsOfSlot);
+            }
+        }
+    }
+
+    /**
+     * 오퍼랜드 스택의 추상 해석. 스택을 JVM word 단위(long/double 은 2 word)로 모델링하고
+     * word 마다 그 값을 만든 명령어 오프셋 집합(정렬된 int[])을 둔다.
+     * cfg 엣지로 상태를 전파하며 합류점에서는 word 별 합집합을 취하고, 예외 핸들러 진입 시 스택은 예외 객체 하나(생산자 없음)이다.
+     * 고정점 이후 오프셋 순으로 한 번 더 훑으며 소비되는 word 의 생산자 -> 소비 명령어 엣지를 만든다.
+     * DUP/DUP_X/DUP2/SWAP 는 word 를 재배치할 뿐 원래 생산자를 유지하며, 읽은 word 에 대해서만 엣지를 가진다.
+     * cfg/ex 의 row 는 ihs 순서와 같아야 한다.
+     */
+    static void addStackDefUseEdges(InstructionHandle[] ihs, IntGraph cfg, IntGraph ex, ConstantPoolGen cpg,
+                                    IntGraph.Builder dfg) {
+        int n = ihs.length;
+        if (n == 0) return;
+        int[] offsets = new int[n];
+        int[] indexOf = new int[ihs[n - 1].getPosition() + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i] = ihs[i].getPosition();
+            indexOf[offsets[i]] = i;
+        }
+
+        int[][][] in = new int[n][][];          // 명령어 진입 시 스택 (null: 도달 안 함), [word][producers]
+        int[][] handlerEntry = {NO_PRODUCER};   // 예외 핸들러 진입 스택
+        ArrayDeque<Integer> work = new ArrayDeque<>();
+        boolean[] queued = new boolean[n];
+        in[0] = new int[0][];
+        work.add(0);
+        queued[0] = true;
+
+        while (!work.isEmpty()) {
+            int i = work.poll();
+            queued[i] = false;
+            for (int e = ex.rowStart(i); e < ex.rowEnd(i); e++) {
+                int h = indexOf[ex.target(e)];
+                if (in[h] == null) {
+                    in[h] = handlerEntry;
+                    if (!queued[h]) { work.add(h); queued[h] = true; }
+                }
+            }
+            int[][] out = simulate(ihs[i].getInstruction(), offsets[i], in[i], cpg, null);
+            for (int e = cfg.rowStart(i); e < cfg.rowEnd(i); e++) {
+                int s = indexOf[cfg.target(e)];
+                int[][] merged = (in[s] == null) ? out : mergeStacks(in[s], out);
+                if (merged != in[s]) {
+                    in[s] = merged;
+                    if (!queued[s]) { work.add(s); queued[s] = true; }
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (in[i] != null) simulate(ihs[i].getInstruction(), offsets[i], in[i], cpg, dfg);
+        }
+    }
+
+    private static final int[] NO_PRODUCER = new int[0];
+
+    /** 명령어 하나를 적용한 스택. dfg 가 null 이 아니면 읽은 word 의 생산자 -> off 엣지를 추가 */
+    private static int[][] simulate(Instruction inst, int off, int[][] stack, ConstantPoolGen cpg, IntGraph.Builder dfg) {
+        int top = stack.length;
+        switch (inst.getOpcode()) {
+            case Const.DUP:     return shuffle(stack, 1, off, dfg, 0, 0);
+            case Const.DUP_X1:  return shuffle(stack, 2, off, dfg, 0, 1, 0);
+            case Const.DUP_X2:  return shuffle(stack, 3, off, dfg, 0, 2, 1, 0);
+            case Const.DUP2:    return shuffle(stack, 2, off, dfg, 1, 0, 1, 0);
+            case Const.DUP2_X1: return shuffle(stack, 3, off, dfg, 1, 0, 2, 1, 0);
+            case Const.DUP2_X2: return shuffle(stack, 4, off, dfg, 1, 0, 3, 2, 1, 0);
+            case Const.SWAP:    return shuffle(stack, 2, off, dfg, 0, 1);
+        }
+        int consume = Math.min(inst.consumeStack(cpg), top);
+        int produce = Math.max(0, inst.produceStack(cpg));
+        if (dfg != null) {
+            for (int w = top - 1; w >= top - consume; w--) {
+                for (int p : stack[w]) dfg.addEdge(p, off);
+            }
+        }
+        int[][] out = Arrays.copyOf(stack, top - consume + produce);
+        int[] self = {off};
+        for (int w = top - consume; w < out.length; w++) out[w] = self;
+        return out;
+    }
+
+    /**
+     * 스택 조작 명령어: 위쪽 depth 개 word 를 읽고, picks 순서(아래 -> 위, 0 = 원래 맨 위 word)로 다시 쌓는다.
+     * 예: DUP_X1 은 [.., b, a] 에서 depth 2, picks (a, b, a) = (0, 1, 0).
+     */
+    private static int[][] shuffle(int[][] stack, int depth, int off, IntGraph.Builder dfg, int... picks) {
+        int top = stack.length;
+        if (top < depth) return stack;   // 검증되지 않은 코드: 스택 변화 없이 진행
+        if (dfg != null) {
+            int read = (picks.length > depth) ? picks.length - depth : depth;   // 복제되는 word 수 (SWAP 은 2)
+            for (int w = top - 1; w >= top - read; w--) {
+                for (int p : stack[w]) dfg.addEdge(p, off);
+            }
+        }
+        int[][] out = Arrays.copyOf(stack, top - depth + picks.length);
+        for (int k = 0; k < picks.length; k++) out[top - depth + k] = stack[top - 1 - picks[k]];
+        return out;
+    }
+
+    /** word 별 생산자 합집합. 바뀌지 않았으면 a 자체를 돌려준다 (깊이가 다르면 위쪽 기준으로 짧은 쪽에 맞춤) */
+    private static int[][] mergeStacks(int[][] a, int[][] b) {
+        int depth = Math.min(a.length, b.length);
+        int[][] out = null;
+        for (int k = 1; k <= depth; k++) {
+            int[] x = a[a.length - k];
+            int[] y = b[b.length - k];
+            int[] u = (x == y) ? x : union(x, y);
+            if (u != x) {
+                if (out == null) out = Arrays.copyOfRange(a, a.length - depth, a.length);
+                out[depth - k] = u;
+            }
+        }
+        if (out != null) return out;
+        return a.length == depth ? a : Arrays.copyOfRange(a, a.length - depth, a.length);
+    }
+
+    /** 정렬된 두 집합의 합집합. x 가 이미 y 를 포함하면 x 를 그대로 돌려준다 */
+    private static int[] union(int[] x, int[] y) {
+        int[] u = new int[x.length + y.length];
+        int i = 0, j = 0, k = 0;
+        while (i < x.length || j < y.length) {
+            int v;
+            if (j == y.length || (i < x.length && x[i] < y[j])) v = x[i++];
+            else if (i == x.length || y[j] < x[i]) v = y[j++];
+            else { v = x[i++]; j++; }
+            u[k++] = v;
+        }
+        return k == x.length ? x : Arrays.copyOf(u, k);
+    }
+
+    /**
+     * cur 에서 def 와 겹치는 슬롯의 정의를 지우고 def 를 추가. 같은 슬롯, def 가 long/double 이면 다음 슬롯,
+     * 그리고 바로 앞 슬롯의 long/double 정의(상위 절반을 덮어씀)가 대상이다.
+     */
+    private static void kill(BitSet cur, int def, int[] defSlot, boolean[] wide, Map<Integer, BitSet> defsOfSlot) {
+        BitSet same = defsOfSlot.get(defSlot[def]);
+        cur.andNot(same);
+        if (wide[def]) {
+            BitSet next = defsOfSlot.get(defSlot[def] + 1);
+            if (next != null) cur.andNot(next);
+        }
+        BitSet prev = defsOfSlot.get(defSlot[def] - 1);
+        if (prev != null) {
+            for (int d = prev.nextSetBit(0); d >= 0; d = prev.nextSetBit(d + 1)) {
+                if (wide[d]) cur.clear(d);
+            }
+        }
+        cur.set(def);
+    }
+
+    /** target |= src, 바뀌었으면 true */
+    private static boolean mergeInto(BitSet target, BitSet src) {
+        int before = target.cardinality();
+        target.or(src);
+        return target.cardinality() != before;
+    }
+
+    /**
+     * 핸들러 범위를 시작/끝 오프셋으로 정렬해 명령어와 함께 한 번만 훑는다 (handlers × instructions 대신
+     * O(H log H + N + 엣지 수)). 명령어마다 활성 핸들러를 예외 테이블 순서로 내보내므로
+     * 소스별 엣지 순서는 핸들러별로 전체 명령어를 도는 방식과 같다.
+     */
+    private static void addExceptionEdges(InstructionHandle[] ihs, CodeException[] handlers, IntGraph.Builder ex) {
+        int h = handlers.length;
+        Integer[] byStart = new Integer[h];
+        Integer[] byEnd = new Integer[h];
+        for (int i = 0; i < h; i++) { byStart[i] = i; byEnd[i] = i; }
+        Arrays.sort(byStart, Comparator.comparingInt(i -> handlers[i].getStartPC()));
+        Arrays.sort(byEnd, Comparator.comparingInt(i -> handlers[i].getEndPC()));
+
+        BitSet active = new BitSet(h);  // 예외 테이블 인덱스
+        int nextStart = 0, nextEnd = 0;
+        for (InstructionHandle ih : ihs) {
+            int off = ih.getPosition();
+            while (nextStart < h && handlers[byStart[nextStart]].getStartPC() <= off) active.set(byStart[nextStart++]);
+            while (nextEnd < h && handlers[byEnd[nextEnd]].getEndPC() <= off) active.clear(byEnd[nextEnd++]);
+            for (int i = active.nextSetBit(0); i >= 0; i = active.nextSetBit(i + 1)) {
+                ex.addEdge(off, handlers[i].getHandlerPC());
             }
         }
-        return g;
     }
 
     private static String operandsToString(Instruction inst, InstructionHandle ih, ConstantPoolGen cpg) {
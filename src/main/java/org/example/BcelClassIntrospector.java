@@ -1,7 +1,12 @@
 package org.example;
 
 import org.apache.bcel.classfile.*;
-import java.io.FileInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class BcelClassIntrospector {
@@ -20,22 +25,33 @@ public class BcelClassIntrospector {
         @Override public int hashCode(){ return Objects.hash(name, desc); }
     }
 
-    /** 결과: 내부 클래스 이름 + Code 있는 모든 메서드 */
+    /** 결과: 내부 클래스 이름 + Code 있는 모든 메서드 (+ 재사용할 파싱 결과) */
     public static class ClassScan {
         public final String internalName;
         public final String superName;
         public final List<MethodSig> methods;       // Code 있는 메서드만
-        public ClassScan(String internalName, String superName, List<MethodSig> methods) {
+        public final JavaClass javaClass;           // 1회 파싱 결과 (BcelBytecodeCFG.buildAll 에서 재사용)
+        public ClassScan(String internalName, String superName, List<MethodSig> methods, JavaClass javaClass) {
             this.internalName = internalName;
             this.superName = superName;
             this.methods = methods;
+            this.javaClass = javaClass;
         }
     }
 
     /** .class 파일을 파싱해 내부 클래스 이름과 Code 있는 메서드 목록을 돌려준다 */
     public static ClassScan scanClassFile(String classFilePath) throws Exception {
-        ClassParser cp = new ClassParser(new FileInputStream(classFilePath), classFilePath);
-        JavaClass jc = cp.parse();
+        return scanClassFile(Paths.get(classFilePath));
+    }
+
+    /** 파일 시스템과 무관하게(예: jar 내부의 zipfs 경로) 바이트를 읽어 파싱 */
+    public static ClassScan scanClassFile(Path classFile) throws Exception {
+        return scanClass(Files.readAllBytes(classFile), classFile.toString());
+    }
+
+    /** 메모리의 클래스 바이트를 파싱 (fileName 은 BCEL 오류 메시지용) */
+    public static ClassScan scanClass(byte[] classBytes, String fileName) throws IOException {
+        JavaClass jc = parse(classBytes, fileName);
         String dotted = jc.getClassName();
         String internal = dotted.replace('.', '/');
         String superName = jc.getSuperclassName().replace('.', '/');
@@ -46,6 +62,29 @@ public class BcelClassIntrospector {
             if (code == null) continue;                     // abstract/native 제외
             list.add(new MethodSig(m.getName(), m.getSignature()));
         }
-        return new ClassScan(internal, superName, list);
+        return new ClassScan(internal, superName, list, jc);
+    }
+
+    static JavaClass parse(byte[] classBytes, String fileName) throws IOException {
+        return new ClassParser(new ByteArrayInputStream(classBytes), fileName).parse();
+    }
+
+    /** 상수 풀의 CONSTANT_Class 가 가리키는 클래스 (배열은 원소 타입) */
+    static Set<String> referencedClasses(JavaClass jc) {
+        Set<String> out = new HashSet<>();
+        ConstantPool cp = jc.getConstantPool();
+        for (int i = 1; i < cp.getLength(); i++) {
+            Constant c = cp.getConstant(i);
+            if (!(c instanceof ConstantClass cc)) continue;
+            String name = cc.getBytes(cp);
+            int dims = 0;
+            while (dims < name.length() && name.charAt(dims) == '[') dims++;
+            if (dims > 0) {
+                if (name.charAt(dims) != 'L') continue;             // 기본형 배열
+                name = name.substring(dims + 1, name.length() - 1);
+            }
+            out.add(name);
+        }
+        return out;
     }
 }
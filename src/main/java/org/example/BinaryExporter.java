@@ -0,0 +1,115 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON 대신 사용할 수 있는 이진 출력. 클래스 하나의 메서드들을 파일 하나(.bgr)에 기록한다.
+ * 읽기는 {@link BinaryGraphReader} (memory-map) 참고.
+ *
+ * <pre>
+ * 헤더     : int MAGIC, int VERSION, int stringCount, int methodCount
+ * 문자열표 : stringCount × (int utf8Len, byte[utf8Len])           — 메서드 시그니처, mnemonic, operands
+ * 인덱스   : methodCount × (int signatureIdx, long recordOffset)  — recordOffset 은 파일 시작 기준
+ * 레코드   : int codeLen, byte[codeLen], 4바이트 정렬 패딩,
+ *            int nodeCount, int[nodeCount × 4] (offset, length, mnemonicIdx, operandsIdx(-1: 없음)),
+ *            CFG, EX, DFG, CDG, DDG 순서로 각각 int pairCount, int[pairCount × 2] (src, dst)
+ * </pre>
+ * 정수는 모두 big-endian. 노드의 hex 는 code 바이트의 [offset, offset+length) 구간이다.
+ */
+public class BinaryExporter {
+
+    public static final int MAGIC = 0x42475246; // "BGRF"
+    public static final int VERSION = 1;
+
+    /** 한 파일에 기록할 메서드 결과 */
+    public record Entry(String methodName, String methodDesc, BcelBytecodeCFG.Graph graph, WalaIRProjector.Flow flow) {}
+
+    public static void export(String internalClassName, List<Entry> methods, Path out) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(out))) {
+            write(internalClassName, methods, os);
+        }
+    }
+
+    public static void write(String internalClassName, List<Entry> methods, OutputStream os) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        String className = internalClassName.replace('/', '.');
+
+        // 1) 레코드 본문 (오프셋은 레코드 영역 기준)
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream rec = new DataOutputStream(records);
+        int[] signatureIdx = new int[methods.size()];
+        long[] recordOffset = new long[methods.size()];
+        for (int m = 0; m < methods.size(); m++) {
+            Entry e = methods.get(m);
+            signatureIdx[m] = intern(strings, className + "." + e.methodName() + e.methodDesc());
+            recordOffset[m] = rec.size();
+
+            byte[] code = e.graph().rawCode;
+            rec.writeInt(code.length);
+            rec.write(code);
+            for (int pad = (4 - (code.length & 3)) & 3; pad > 0; pad--) rec.writeByte(0);
+
+            rec.writeInt(e.graph().nodes.size());
+            for (InstructionInfo info : e.graph().nodes.values()) {
+                rec.writeInt(info.offset);
+                rec.writeInt(info.length);
+                rec.writeInt(intern(strings, info.mnemonic));
+                rec.writeInt(info.operands == null ? -1 : intern(strings, info.operands));
+            }
+
+            pairs(rec, e.graph().cfgEdges);
+            pairs(rec, e.graph().exEdges);
+            pairs(rec, e.flow().dfg);
+            pairs(rec, e.flow().cdg);
+            pairs(rec, e.flow().ddg);
+        }
+        rec.flush();
+
+        // 2) 헤더 + 문자열표 (문자열은 레코드를 다 만든 뒤에야 확정됨)
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(head);
+        h.writeInt(MAGIC);
+        h.writeInt(VERSION);
+        h.writeInt(strings.size());
+        h.writeInt(methods.size());
+        for (String s : strings.keySet()) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            h.writeInt(utf8.length);
+            h.write(utf8);
+        }
+        for (int pad = (4 - (h.size() & 3)) & 3; pad > 0; pad--) h.writeByte(0);
+        h.flush();
+
+        // 3) 인덱스 (레코드 영역 시작 = 헤더 + 인덱스 크기)
+        long recordsStart = head.size() + (long) methods.size() * 12;
+        DataOutputStream out = new DataOutputStream(os);
+        head.writeTo(out);
+        for (int m = 0; m < methods.size(); m++) {
+            out.writeInt(signatureIdx[m]);
+            out.writeLong(recordsStart + recordOffset[m]);
+        }
+        records.writeTo(out);
+        out.flush();
+    }
+
+    private static void pairs(DataOutputStream rec, IntGraph adj) throws IOException {
+        rec.writeInt(adj.edgeCount());
+        for (int r = 0; r < adj.nodeCount(); r++) {
+            int src = adj.source(r);
+            for (int i = adj.rowStart(r); i < adj.rowEnd(r); i++) {
+                rec.writeInt(src);
+                rec.writeInt(adj.target(i));
+            }
+        }
+    }
+
+    private static int intern(Map<String, Integer> strings, String s) {
+        return strings.computeIfAbsent(s, k -> strings.size());
+    }
+}
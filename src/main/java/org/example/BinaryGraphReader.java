@@ -0,0 +1,132 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link BinaryExporter} 가 만든 .bgr 파일을 memory-map 으로 읽는다.
+ * 열 때는 헤더/문자열표/인덱스만 해석하고, 각 메서드의 code 와 엣지는 요청 시 버퍼 뷰로 돌려준다 (복사 없음).
+ */
+public final class BinaryGraphReader implements Iterable<BinaryGraphReader.MethodView> {
+
+    /** 엣지 종류 (파일 내 기록 순서) */
+    public enum EdgeKind { CFG, EX, DFG, CDG, DDG }
+
+    private final ByteBuffer buf;
+    private final ByteBuffer[] strings;   // UTF-8 뷰, 문자열은 요청 시 디코딩
+    private final int[] signatureIdx;
+    private final long[] recordOffset;
+
+    private BinaryGraphReader(ByteBuffer buf) throws IOException {
+        this.buf = buf;
+        ByteBuffer in = buf.duplicate();
+        if (in.getInt() != BinaryExporter.MAGIC) throw new IOException("not a ByteGraph binary file");
+        int version = in.getInt();
+        if (version != BinaryExporter.VERSION) throw new IOException("unsupported version: " + version);
+        int stringCount = in.getInt();
+        int methodCount = in.getInt();
+
+        strings = new ByteBuffer[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int len = in.getInt();
+            strings[i] = in.slice(in.position(), len);
+            in.position(in.position() + len);
+        }
+        in.position((in.position() + 3) & ~3);
+
+        signatureIdx = new int[methodCount];
+        recordOffset = new long[methodCount];
+        for (int m = 0; m < methodCount; m++) {
+            signatureIdx[m] = in.getInt();
+            recordOffset[m] = in.getLong();
+        }
+    }
+
+    public static BinaryGraphReader open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryGraphReader(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    public int methodCount() { return recordOffset.length; }
+
+    /** m 번째 메서드 (레코드 내부 위치만 계산하며 내용은 읽지 않음) */
+    public MethodView method(int m) { return new MethodView(m); }
+
+    @Override
+    public Iterator<MethodView> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+            @Override public boolean hasNext() { return next < methodCount(); }
+            @Override public MethodView next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return method(next++);
+            }
+        };
+    }
+
+    private String string(int idx) {
+        return idx < 0 ? null : StandardCharsets.UTF_8.decode(strings[idx].duplicate()).toString();
+    }
+
+    /** 메서드 레코드 하나에 대한 뷰 */
+    public final class MethodView {
+        private final int index;
+        private final int codeStart;
+        private final int codeLen;
+        private final int nodesStart;     // 첫 노드의 바이트 위치
+        private final int nodeCount;
+        private final int[] edgeStart = new int[EdgeKind.values().length]; // 각 엣지 배열의 바이트 위치
+        private final int[] edgeCount = new int[EdgeKind.values().length];
+
+        private MethodView(int index) {
+            this.index = index;
+            int pos = Math.toIntExact(recordOffset[index]);
+            codeLen = buf.getInt(pos);
+            codeStart = pos + 4;
+            pos = (codeStart + codeLen + 3) & ~3;
+            nodeCount = buf.getInt(pos);
+            nodesStart = pos + 4;
+            pos = nodesStart + nodeCount * 16;
+            for (int k = 0; k < edgeStart.length; k++) {
+                edgeCount[k] = buf.getInt(pos);
+                edgeStart[k] = pos + 4;
+                pos = edgeStart[k] + edgeCount[k] * 8;
+            }
+        }
+
+        /** 예: "a.b.C.method(I)V" (JSON 의 "method" 와 동일) */
+        public String signature() { return string(signatureIdx[index]); }
+
+        /** 원본 Code 바이트열 (읽기 전용 뷰) */
+        public ByteBuffer code() { return buf.slice(codeStart, codeLen); }
+
+        public int nodeCount() { return nodeCount; }
+
+        public int nodeOffset(int i) { return buf.getInt(nodesStart + i * 16); }
+
+        public int nodeLength(int i) { return buf.getInt(nodesStart + i * 16 + 4); }
+
+        public String mnemonic(int i) { return string(buf.getInt(nodesStart + i * 16 + 8)); }
+
+        public String operands(int i) { return string(buf.getInt(nodesStart + i * 16 + 12)); }
+
+        /** i 번째 노드의 원본 바이트 (JSON 의 "hex" 에 해당) */
+        public ByteBuffer nodeBytes(int i) { return buf.slice(codeStart + nodeOffset(i), nodeLength(i)); }
+
+        public int edgeCount(EdgeKind kind) { return edgeCount[kind.ordinal()]; }
+
+        /** (src, dst) 쌍이 번갈아 들어 있는 int 뷰, 길이 = edgeCount × 2 */
+        public IntBuffer edges(EdgeKind kind) {
+            int k = kind.ordinal();
+            return buf.slice(edgeStart[k], edgeCount[k] * 8).asIntBuffer();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+
+/**
+ * 라이브러리용 진입점. 대상(.class / .jar / .zip / 디렉토리)에서 glob 으로 고른 클래스와 메서드만 분석하고,
+ * 결과(Graph/Flow)를 파일로 쓰지 않고 {@link Listener} 나 목록으로 돌려준다.
+ *
+ * <pre>
+ * try (ByteGraph bg = ByteGraph.open(new ByteGraph.Config(target)
+ *         .includeClasses("com.foo.**")
+ *         .includeMethods("com.foo.*.handle*", "com.foo.Parser.parse(Ljava/lang/String;)V"))) {
+ *     bg.analyze(result -> use(result.graph(), result.flow()));
+ * }
+ * </pre>
+ *
+ * glob: {@code *} 은 '.' 을 제외한 임의 문자열, {@code **} 은 임의 문자열, {@code ?} 는 '.' 이 아닌 한 문자.
+ * 클래스 glob 은 "a.b.C" 에, 메서드 glob 은 "a.b.C.m(I)V" 에 맞춘다 ('(' 가 없는 메서드 glob 은 "a.b.C.m" 에 맞춰 모든 오버로드를 고른다).
+ * include 가 비어 있으면 전부 포함이며, exclude 가 include 보다 우선한다.
+ *
+ * 고른 클래스만 CallGraph 엔트리포인트로 삼으므로(focusClasses 를 받는 {@link WalaSession#init(String, Set, List, int, Set)}) 일부 메서드만 분석할 때 전체 실행 비용을 내지 않는다.
+ * 세션은 첫 {@link #analyze} 에서 만들어 이후 호출과 공유하며 {@link #close()} 에서 해제한다.
+ */
+public final class ByteGraph implements Closeable {
+
+    /** 분석 설정 */
+    public static final class Config {
+        private final Path target;
+        private String mode = "DATA_LOCAL";
+        private String ddgOption = "DDG";
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private int irCacheCapacity = IRCache.DEFAULT_CAPACITY;
+        private final List<String> includeClasses = new ArrayList<>();
+        private final List<String> excludeClasses = new ArrayList<>();
+        private final List<String> includeMethods = new ArrayList<>();
+        private final List<String> excludeMethods = new ArrayList<>();
+
+        public Config(Path target) {
+            this.target = target;
+        }
+
+        /** DATA_LOCAL(기본) | DATA_STACK | WALA_ONLY */
+        public Config mode(String mode) {
+            this.mode = mode.toUpperCase();
+            return this;
+        }
+
+        /** DDG(기본) | NO_DDG */
+        public Config ddgOption(String ddgOption) {
+            this.ddgOption = ddgOption.toUpperCase();
+            return this;
+        }
+
+        /** 1 이면 호출 스레드에서 순차 실행 */
+        public Config workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Config irCacheCapacity(int irCacheCapacity) {
+            this.irCacheCapacity = irCacheCapacity;
+            return this;
+        }
+
+        public Config includeClasses(String... globs) {
+            includeClasses.addAll(List.of(globs));
+            return this;
+        }
+
+        public Config excludeClasses(String... globs) {
+            excludeClasses.addAll(List.of(globs));
+            return this;
+        }
+
+        public Config includeMethods(String... globs) {
+            includeMethods.addAll(List.of(globs));
+            return this;
+        }
+
+        public Config excludeMethods(String... globs) {
+            excludeMethods.addAll(List.of(globs));
+            return this;
+        }
+    }
+
+    /** 메서드 하나의 분석 결과 */
+    public record MethodResult(String internalClassName, String methodName, String methodDesc,
+                               BcelBytecodeCFG.Graph graph, WalaIRProjector.Flow flow) {
+        /** 예: "a.b.C.m(I)V" */
+        public String signature() {
+            return internalClassName.replace('/', '.') + "." + methodName + methodDesc;
+        }
+    }
+
+    /** 결과 수신자. 입력 순서대로 호출 스레드에서 호출된다 */
+    public interface Listener {
+        void onMethod(MethodResult result);
+
+        /**
+         * target: 메서드 시그니처, 클래스 전체가 실패하면 클래스 이름,
+         * 읽을 수 없는 클래스 파일이면 그 파일 (jar 안이면 "a.jar!/a/b/C.class")
+         */
+        default void onFailure(String target, Exception error) {}
+    }
+
+    /** 고른 클래스(파일과 내부 이름)와 그 안에서 고른 메서드. 파싱 결과는 보관하지 않고 분석할 때 다시 읽는다 */
+    private record Target(Path file, String internalName, List<BcelClassIntrospector.MethodSig> methods) {}
+
+    /** 작업 스레드가 돌려주는 클래스 단위 결과 */
+    private record ClassResult(List<MethodResult> methods, Map<String, Exception> failures) {}
+
+    private final Config config;
+    private final ClassInputs inputs;
+    private final List<Target> targets;
+    private final Map<String, Exception> unreadable;                  // 고를 때 읽지 못한 파일 -> 예외
+    private final WalaIRProjector projector = new WalaIRProjector();
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer(new BcelBytecodeCFG(), projector);
+    private WalaSession session;
+
+    private ByteGraph(Config config, ClassInputs inputs, List<Target> targets, Map<String, Exception> unreadable) {
+        this.config = config;
+        this.inputs = inputs;
+        this.targets = targets;
+        this.unreadable = unreadable;
+    }
+
+    /** 대상을 열고 클래스 파일을 훑어 분석할 메서드를 고른다 (WALA 세션은 아직 만들지 않음) */
+    public static ByteGraph open(Config config) throws IOException {
+        if (!Main.VALID_DFG_MODES.contains(config.mode)) throw new IllegalArgumentException("Unknown mode: " + config.mode);
+        if (!Main.VALID_DDG_OPTIONS.contains(config.ddgOption))
+            throw new IllegalArgumentException("Unknown ddg option: " + config.ddgOption);
+        if (config.workers < 1) throw new IllegalArgumentException("workers must be >= 1: " + config.workers);
+
+        List<Pattern> inClasses = globs(config.includeClasses), exClasses = globs(config.excludeClasses);
+        List<Pattern> inMethods = globs(config.includeMethods), exMethods = globs(config.excludeMethods);
+
+        ClassInputs inputs = ClassInputs.open(config.target);
+        try {
+            List<Target> targets = new ArrayList<>();
+            Map<String, Exception> unreadable = new LinkedHashMap<>();
+            for (Path f : inputs.classFiles()) {
+                BcelClassIntrospector.ClassScan scan;
+                try {
+                    scan = BcelClassIntrospector.scanClassFile(f);
+                } catch (Exception e) {
+                    unreadable.put(inputs.keyOf(f), e);   // glob 으로 고를 수 없으므로 analyze 에서 실패로 알림
+                    continue;
+                }
+                String className = scan.internalName.replace('/', '.');
+                if (!selected(className, inClasses, exClasses)) continue;
+
+                List<BcelClassIntrospector.MethodSig> methods = new ArrayList<>();
+                for (BcelClassIntrospector.MethodSig ms : scan.methods) {
+                    if (methodSelected(className + "." + ms.name, ms.desc, inMethods, exMethods)) methods.add(ms);
+                }
+                if (!methods.isEmpty()) targets.add(new Target(f, scan.internalName, methods));
+            }
+            return new ByteGraph(config, inputs, targets, unreadable);
+        } catch (RuntimeException e) {
+            inputs.close();
+            throw e;
+        }
+    }
+
+    /** 고른 클래스의 내부 이름 (입력 순서) */
+    public List<String> classes() {
+        List<String> names = new ArrayList<>(targets.size());
+        for (Target t : targets) names.add(t.internalName);
+        return names;
+    }
+
+    /** 고른 메서드 수 */
+    public int methodCount() {
+        int n = 0;
+        for (Target t : targets) n += t.methods.size();
+        return n;
+    }
+
+    /** 고른 메서드를 모두 분석해 목록으로 돌려준다 (실패한 메서드는 빠짐) */
+    public List<MethodResult> analyze() throws Exception {
+        List<MethodResult> results = new ArrayList<>();
+        analyze(results::add);
+        return results;
+    }
+
+    /**
+     * 고른 메서드를 분석해 결과를 입력 순서대로 listener 에 넘기고, 성공한 메서드 수를 돌려준다.
+     * 고를 때 읽지 못한 클래스 파일은 먼저 실패로 알린다.
+     */
+    public int analyze(Listener listener) throws Exception {
+        unreadable.forEach(listener::onFailure);
+        if (targets.isEmpty()) return 0;
+        WalaSession s = session();
+
+        // 결과를 입력 순서대로 넘기므로, 앞선 작업은 2 x workers 개까지만 제출해 기다리는 결과가 쌓이지 않게 한다
+        ExecutorService pool = (config.workers == 1) ? null : Executors.newWorkStealingPool(config.workers);
+        int delivered = 0;
+        try {
+            int window = (pool == null) ? 1 : 2 * config.workers;
+            Deque<Future<ClassResult>> inFlight = new ArrayDeque<>(window);
+            int submitted = 0;
+            for (int i = 0; i < targets.size(); i++) {
+                while (submitted < targets.size() && inFlight.size() < window) {
+                    Target t = targets.get(submitted++);
+                    Callable<ClassResult> task = () -> analyzeClass(s, t);
+                    inFlight.add(pool == null ? CompletableFuture.completedFuture(task.call()) : pool.submit(task));
+                }
+                ClassResult r = inFlight.poll().get();
+                for (MethodResult m : r.methods) {
+                    listener.onMethod(m);
+                    delivered++;
+                }
+                r.failures.forEach(listener::onFailure);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        } finally {
+            if (pool != null) pool.shutdownNow();
+        }
+        return delivered;
+    }
+
+    private synchronized WalaSession session() throws Exception {
+        if (session == null) {
+            Set<String> focus = new HashSet<>(classes());
+            session = WalaSession.init(inputs.classPath(), Collections.emptySet(), Collections.emptyList(),
+                    config.irCacheCapacity, focus);
+        }
+        return session;
+    }
+
+    private ClassResult analyzeClass(WalaSession s, Target t) {
+        List<MethodResult> results = new ArrayList<>();
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        try {
+            BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClassFile(t.file);
+            if (projector.isInterfaceClass(s, scan.internalName)) return new ClassResult(results, failures);
+            ClassAnalyzer.Graphs graphs = classAnalyzer.build(scan.javaClass, config.mode);
+            for (ClassAnalyzer.MethodResult r : classAnalyzer.analyze(s, scan.internalName, graphs, t.methods,
+                    config.ddgOption)) {
+                BcelClassIntrospector.MethodSig ms = r.sig();
+                if (r.status() == ClassAnalyzer.Status.ANALYZED) {
+                    results.add(new MethodResult(scan.internalName, ms.name, ms.desc, r.graph(), r.flow()));
+                } else if (r.status() == ClassAnalyzer.Status.FAILED) {
+                    failures.put(scan.internalName.replace('/', '.') + "." + ms.name + ms.desc, r.failure());
+                }
+            }
+        } catch (Exception e) {
+            failures.put(t.internalName.replace('/', '.'), e);
+        }
+        return new ClassResult(results, failures);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (session != null) session.release();
+            session = null;
+        }
+        inputs.close();
+    }
+
+    private static boolean selected(String name, List<Pattern> include, List<Pattern> exclude) {
+        if (!include.isEmpty() && include.stream().noneMatch(p -> p.matcher(name).matches())) return false;
+        return exclude.stream().noneMatch(p -> p.matcher(name).matches());
+    }
+
+    /** '(' 가 있는 glob 은 디스크립터까지 포함한 시그니처에, 없는 glob 은 "클래스.메서드" 에 맞춘다 */
+    private static boolean methodSelected(String qualifiedName, String desc, List<Pattern> include, List<Pattern> exclude) {
+        String signature = qualifiedName + desc;
+        if (!include.isEmpty() && include.stream().noneMatch(p -> matchesMethod(p, qualifiedName, signature))) return false;
+        return exclude.stream().noneMatch(p -> matchesMethod(p, qualifiedName, signature));
+    }
+
+    private static boolean matchesMethod(Pattern p, String qualifiedName, String signature) {
+        return p.matcher(p.pattern().contains("\\(") ? signature : qualifiedName).matches();
+    }
+
+    private static List<Pattern> globs(List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>(globs.size());
+        for (String g : globs) patterns.add(glob(g));
+        return patterns;
+    }
+
+    /** glob -> 정규식. 메타 문자는 모두 문자 그대로 취급 */
+    static Pattern glob(String glob) {
+        StringBuilder re = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    re.append(".*");
+                    i++;
+                } else {
+                    re.append("[^.]*");
+                }
+            } else if (c == '?') {
+                re.append("[^.]");
+            } else if ("\\.[]{}()<>+-=!^$|".indexOf(c) >= 0) {
+                re.append('\\').append(c);
+            } else {
+                re.append(c);
+            }
+        }
+        return Pattern.compile(re.toString());
+    }
+}
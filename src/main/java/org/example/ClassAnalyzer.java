@@ -0,0 +1,98 @@
+package org.example;
+
+import org.apache.bcel.classfile.JavaClass;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 클래스의 메서드를 분석하는 공통 루프 (Analysis, ByteGraph, Daemon 이 공유).
+ * BCEL 그래프는 클래스당 한 번 만들고({@link #build}), 메서드마다 abstract 확인 -> 그래프 생성 실패 확인 ->
+ * WALA 투영 -> sink 순으로 진행한다. 어느 단계의 예외든 그 메서드의 실패로 기록되고 나머지 메서드는 계속 분석된다.
+ */
+final class ClassAnalyzer {
+
+    /** 분석된 메서드 하나를 받는다 (출력 등). 던진 예외는 그 메서드의 실패가 된다 */
+    interface Sink {
+        void accept(BcelClassIntrospector.MethodSig ms, BcelBytecodeCFG.Graph graph, WalaIRProjector.Flow flow)
+                throws Exception;
+    }
+
+    /** 메서드 단위 결과 분류 */
+    enum Status {
+        /** 분석하고 sink 까지 마침 */
+        ANALYZED,
+        /** 클래스 계층에서 abstract 라 건너뜀 */
+        ABSTRACT,
+        /** WALA 쪽에 본문이 없어 Flow 가 없음 */
+        NO_FLOW,
+        /** 그래프 생성, 투영 또는 sink 에서 실패 */
+        FAILED
+    }
+
+    /** graph/flow 는 ANALYZED 일 때만, failure 는 FAILED 일 때만 있다 */
+    record MethodResult(BcelClassIntrospector.MethodSig sig, Status status, BcelBytecodeCFG.Graph graph,
+                        WalaIRProjector.Flow flow, Exception failure) {}
+
+    /** 클래스의 모든 메서드 그래프 (buildAll 1회) 와 그래프를 만들지 못한 메서드의 예외 */
+    record Graphs(Map<BcelClassIntrospector.MethodSig, BcelBytecodeCFG.Graph> graphs,
+                  Map<BcelClassIntrospector.MethodSig, RuntimeException> failures) {}
+
+    private final BcelBytecodeCFG bcel;
+    private final WalaIRProjector projector;
+
+    ClassAnalyzer(BcelBytecodeCFG bcel, WalaIRProjector projector) {
+        this.bcel = bcel;
+        this.projector = projector;
+    }
+
+    Graphs build(JavaClass jc, String mode) {
+        Map<BcelClassIntrospector.MethodSig, RuntimeException> failures = new HashMap<>();
+        return new Graphs(bcel.buildAll(jc, mode, failures), failures);
+    }
+
+    /** 결과만 돌려받을 때 (출력 없음, metrics 기록 없음) */
+    List<MethodResult> analyze(WalaSession session, String internalName, Graphs graphs,
+                               Collection<BcelClassIntrospector.MethodSig> methods, String ddgOption) {
+        return analyze(session, internalName, graphs, methods, ddgOption, Metrics.DISABLED, (ms, graph, flow) -> { });
+    }
+
+    /**
+     * methods(모두 Code 가 있는 메서드)를 순서대로 분석해 메서드마다 결과 하나를 돌려준다.
+     * 분석한 메서드의 전체 시간(투영 + sink)은 metrics 에 메서드 단위로 기록된다.
+     */
+    List<MethodResult> analyze(WalaSession session, String internalName, Graphs graphs,
+                               Collection<BcelClassIntrospector.MethodSig> methods, String ddgOption,
+                               Metrics metrics, Sink sink) {
+        String className = internalName.replace('/', '.');
+        List<MethodResult> results = new ArrayList<>(methods.size());
+        for (BcelClassIntrospector.MethodSig ms : methods) {
+            try {
+                if (projector.isAbstractMethod(session, internalName, ms.name, ms.desc)) {
+                    results.add(new MethodResult(ms, Status.ABSTRACT, null, null, null));
+                    continue;
+                }
+                BcelBytecodeCFG.Graph graph = graphs.graphs().get(ms);
+                if (graph == null) {
+                    RuntimeException failure = graphs.failures().get(ms);   // 이 메서드의 BCEL 그래프 생성 실패
+                    throw failure != null ? failure : new IllegalStateException("No bytecode for " + ms);
+                }
+                Metrics.Span methodStart = metrics.start();
+                WalaIRProjector.Flow flow = projector.analyze(session, internalName, ms.name, ms.desc, graph, ddgOption, metrics);
+                if (flow == null) {
+                    results.add(new MethodResult(ms, Status.NO_FLOW, graph, null, null));
+                    continue;
+                }
+                sink.accept(ms, graph, flow);
+                metrics.recordMethod(className + "." + ms.name + ms.desc, methodStart);
+                results.add(new MethodResult(ms, Status.ANALYZED, graph, flow, null));
+            } catch (Exception e) {
+                results.add(new MethodResult(ms, Status.FAILED, null, null, e));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 분석 대상(.class 파일, .jar/.zip, 또는 이들을 포함한 디렉토리)의 클래스 파일 목록과 WALA 클래스패스.
+ * jar/zip 은 압축을 풀지 않고 zipfs 로 열어, 목록의 Path 를 통해 엔트리 바이트를 바로 읽는다.
+ * 목록의 Path 는 닫기 전까지만 유효하다.
+ */
+public final class ClassInputs implements Closeable {
+
+    private final Path root;                          // 상대 key 의 기준 (대상 디렉토리 또는 대상 파일의 부모)
+    private final List<Path> classFiles;
+    private final String classPath;                   // File.pathSeparator 로 구분
+    private final Map<FileSystem, Path> archives;     // 열린 zipfs -> 원본 archive 경로
+
+    private ClassInputs(Path root, List<Path> classFiles, String classPath, Map<FileSystem, Path> archives) {
+        this.root = root;
+        this.classFiles = classFiles;
+        this.classPath = classPath;
+        this.archives = archives;
+    }
+
+    public static ClassInputs open(Path target) throws IOException {
+        Path abs = target.toAbsolutePath();
+        Map<FileSystem, Path> archives = new LinkedHashMap<>();
+        List<Path> classFiles = new ArrayList<>();
+        List<String> classPath = new ArrayList<>();
+        try {
+            if (Files.isDirectory(abs)) {
+                // 디렉토리 자체(느슨한 .class)와 하위 lib 디렉토리의 모든 jar/zip
+                classPath.add(abs.toString());
+                List<Path> nested;
+                try (Stream<Path> walk = Files.walk(abs)) {
+                    nested = walk.filter(p -> isClassFile(p) || isArchive(p)).sorted().collect(Collectors.toList());
+                }
+                for (Path p : nested) {
+                    if (isClassFile(p)) {
+                        classFiles.add(p);
+                    } else {
+                        classFiles.addAll(openArchive(p, archives));
+                        classPath.add(p.toString());
+                    }
+                }
+                return new ClassInputs(abs, classFiles, String.join(File.pathSeparator, classPath), archives);
+            }
+            if (isArchive(abs)) {
+                classFiles.addAll(openArchive(abs, archives));
+                return new ClassInputs(abs.getParent(), classFiles, abs.toString(), archives);
+            }
+            return new ClassInputs(abs.getParent(), List.of(abs), abs.getParent().toString(), archives);
+        } catch (IOException | RuntimeException e) {
+            try {
+                closeAll(archives.keySet());
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static List<Path> openArchive(Path archive, Map<FileSystem, Path> archives) throws IOException {
+        FileSystem fs = FileSystems.newFileSystem(archive);
+        archives.put(fs, archive);
+        List<Path> entries = new ArrayList<>();
+        for (Path r : fs.getRootDirectories()) {
+            try (Stream<Path> walk = Files.walk(r)) {
+                walk.filter(ClassInputs::isClassFile).sorted().forEach(entries::add);
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isClassFile(Path p) {
+        String n = p.toString();
+        return n.endsWith(".class") && !n.endsWith("module-info.class") && !n.contains("META-INF/");
+    }
+
+    private static boolean isArchive(Path p) {
+        String n = p.getFileName() == null ? "" : p.getFileName().toString().toLowerCase();
+        return (n.endsWith(".jar") || n.endsWith(".zip")) && Files.isRegularFile(p);
+    }
+
+    public List<Path> classFiles() {
+        return classFiles;
+    }
+
+    /** WalaSession.init 에 넘길 애플리케이션 클래스패스 */
+    public String classPath() {
+        return classPath;
+    }
+
+    /** 실행 간에 안정적인 클래스 파일 key (예: "a/b/C.class", "lib/x.jar!/a/b/C.class") */
+    public String keyOf(Path classFile) {
+        Path archive = archives.get(classFile.getFileSystem());
+        if (archive == null) return root.relativize(classFile.toAbsolutePath()).toString().replace('\\', '/');
+        return root.relativize(archive).toString().replace('\\', '/') + "!" + classFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeAll(archives.keySet());
+    }
+
+    private static void closeAll(Collection<FileSystem> filesystems) throws IOException {
+        IOException failure = null;
+        for (FileSystem fs : filesystems) {
+            try {
+                fs.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
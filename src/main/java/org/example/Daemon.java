@@ -0,0 +1,306 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상주 모드. 대상을 한 번 열고 세션을 만든 뒤, 한 줄에 JSON 하나인 요청을 받아 분석 결과를 돌려준다.
+ * 세션(CHA, CallGraph, Mod/Ref, IR 캐시)은 요청 사이에 그대로 재사용된다.
+ *
+ * 요청 (필드는 모두 선택, cmd 기본값은 "analyze"):
+ *   {"id":1, "class":"a.b.C", "method":"m", "desc":"(I)V", "mode":"DATA_LOCAL", "ddg":"DDG", "json":"plain|compact"}
+ *     json 은 plain(기본) 또는 compact 만 받는다 (pretty 는 여러 줄이라 한 줄 응답에 쓸 수 없음)
+ *   {"cmd":"reload"}    대상의 클래스 파일이 바뀌었을 때 입력 목록과 세션을 다시 만든다
+ *   {"cmd":"ping"} / {"cmd":"shutdown"}
+ * 응답: 분석한 메서드마다 {@link JsonExporter} 출력 한 줄 (JSON Lines archive 의 한 줄과 같음),
+ * 분석하지 못한 메서드(그래프 생성, 투영, 직렬화 실패)는 {"class":..,"method":..,"desc":..,"status":"error","message":..}
+ * 한 줄로 알리고 건너뛴다.
+ * 그리고 마지막에 상태 한 줄 {"id":1,"status":"ok","methods":N} 또는 {"id":1,"status":"error","message":"..."}.
+ * method 가 없으면 클래스의 모든 메서드, desc 가 없으면 이름이 같은 모든 오버로드를 분석한다.
+ * method 를 지정했는데 분석한 메서드가 없으면, 메서드가 없는 경우와 abstract/native 라 본문이 없는 경우,
+ * 분석에 실패한 경우를 서로 다른 error 메시지로 알린다.
+ */
+public final class Daemon {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path target;
+    private final String defaultMode;
+    private final String defaultDdgOption;
+    private final int irCacheCapacity;
+    private final WalaIRProjector projector = new WalaIRProjector();
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer(new BcelBytecodeCFG(), projector);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();  // 분석은 읽기, reload 는 쓰기
+
+    private ClassInputs inputs;
+    private Map<String, Path> classFiles;                              // 내부 클래스 이름 -> 클래스 파일
+    private WalaSession session;
+    private volatile boolean running = true;
+
+    public Daemon(Path target, String defaultMode, String defaultDdgOption, int irCacheCapacity) {
+        this.target = target;
+        this.defaultMode = defaultMode;
+        this.defaultDdgOption = defaultDdgOption;
+        this.irCacheCapacity = irCacheCapacity;
+    }
+
+    /** 대상을 열고 세션을 만든다 (reload 에서도 사용) */
+    public void load() throws Exception {
+        long t0 = System.nanoTime();
+        ClassInputs opened = ClassInputs.open(target);
+        try {
+            Map<String, Path> index = new HashMap<>();
+            for (Path f : opened.classFiles()) {
+                try {
+                    index.putIfAbsent(BcelClassIntrospector.scanClassFile(f).internalName, f);
+                } catch (Exception e) {
+                    System.err.println(">>> [Daemon] Skipping unreadable class file " + opened.keyOf(f) + ": " + e.getMessage());
+                }
+            }
+            WalaSession created = WalaSession.init(opened.classPath(), Collections.emptySet(), Collections.emptyList(),
+                    irCacheCapacity);
+
+            lock.writeLock().lock();
+            try {
+                closeCurrent();
+                inputs = opened;
+                classFiles = index;
+                session = created;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.err.println(">>> [Daemon] Loaded " + index.size() + " classes in "
+                    + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            opened.close();
+            throw e;
+        }
+    }
+
+    /** 표준 입력으로 요청을 받고 표준 출력으로 응답한다. 세션 로그는 표준 에러로 보낸다 */
+    public void serveStdio() throws Exception {
+        OutputStream protocol = new FileOutputStream(FileDescriptor.out);
+        System.setOut(System.err);
+        load();
+        serve(System.in, protocol);
+        closeCurrent();
+    }
+
+    /**
+     * 루프백 주소의 port 에서 연결을 받는다. 연결마다 작업 스레드 하나가 요청을 순서대로 처리한다.
+     * shutdown 요청이 오면 열린 연결을 모두 닫아 readLine 에서 기다리는 스레드를 깨우고, 처리 중인 요청이
+     * 끝나기를 잠시 기다린 뒤 세션을 해제한다. 작업 스레드는 daemon 스레드라 JVM 종료를 막지 않는다.
+     */
+    public void serveSocket(int port) throws Exception {
+        load();
+        Set<Socket> clients = ConcurrentHashMap.newKeySet();
+        ExecutorService connections = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "bytegraph-daemon-connection");
+            t.setDaemon(true);
+            return t;
+        });
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.err.println(">>> [Daemon] Listening on " + server.getLocalSocketAddress());
+            server.setSoTimeout(1000);   // shutdown 요청을 주기적으로 확인
+            while (running) {
+                Socket client;
+                try {
+                    client = server.accept();
+                } catch (java.net.SocketTimeoutException e) {
+                    continue;
+                }
+                clients.add(client);
+                connections.submit(() -> {
+                    try (client) {
+                        serve(client.getInputStream(), client.getOutputStream());
+                    } catch (IOException e) {
+                        if (running) System.err.println(">>> [Daemon] Connection closed: " + e.getMessage());
+                    } finally {
+                        clients.remove(client);
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            running = false;
+            connections.shutdown();
+            for (Socket c : clients) {
+                try {
+                    c.close();
+                } catch (IOException ignore) {}
+            }
+            connections.awaitTermination(10, TimeUnit.SECONDS);
+            closeCurrent();
+        }
+    }
+
+    /** 입력이 끝나거나 shutdown 요청이 올 때까지 요청을 처리한다 */
+    void serve(InputStream in, OutputStream rawOut) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        OutputStream out = new BufferedOutputStream(rawOut);
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            ObjectNode status = MAPPER.createObjectNode();
+            try {
+                JsonNode req = MAPPER.readTree(line);
+                if (req.has("id")) status.set("id", req.get("id"));
+                String cmd = req.path("cmd").asText("analyze");
+                switch (cmd) {
+                    case "analyze" -> status.put("methods", analyze(req, out));
+                    case "reload" -> load();
+                    case "ping" -> { }
+                    case "shutdown" -> running = false;
+                    default -> throw new IllegalArgumentException("Unknown cmd: " + cmd);
+                }
+                status.put("status", "ok");
+            } catch (Exception e) {
+                status.remove("methods");
+                status.put("status", "error");
+                status.put("message", String.valueOf(e.getMessage()));
+            }
+            out.write(MAPPER.writeValueAsBytes(status));
+            out.write('\n');
+            out.flush();
+        }
+        out.flush();
+    }
+
+    /**
+     * 요청한 메서드들을 분석해 메서드마다 한 줄씩 쓰고, 쓴 메서드 수를 돌려준다.
+     * 줄은 읽기 잠금 아래서 모두 만들어 두고 잠금을 푼 뒤에 쓰므로, 느린 클라이언트가 reload 를 막지 않는다.
+     */
+    private int analyze(JsonNode req, OutputStream out) throws Exception {
+        String className = req.path("class").asText("");
+        if (className.isEmpty()) throw new IllegalArgumentException("Missing field: class");
+        String methodName = req.hasNonNull("method") ? req.get("method").asText() : null;
+        String methodDesc = req.hasNonNull("desc") ? req.get("desc").asText() : null;
+        String mode = req.path("mode").asText(defaultMode).toUpperCase();
+        String ddgOption = req.path("ddg").asText(defaultDdgOption).toUpperCase();
+        if (!Main.VALID_DFG_MODES.contains(mode)) throw new IllegalArgumentException("Unknown mode: " + mode);
+        if (!Main.VALID_DDG_OPTIONS.contains(ddgOption)) throw new IllegalArgumentException("Unknown ddg option: " + ddgOption);
+        String json = req.path("json").asText("plain").toLowerCase();
+        if (!json.equals("plain") && !json.equals("compact"))
+            throw new IllegalArgumentException("Unknown json style: " + json + " (expected plain or compact)");
+        JsonExporter.Style style = json.equals("compact") ? JsonExporter.Style.COMPACT : JsonExporter.Style.PLAIN;
+
+        List<byte[]> lines = new ArrayList<>();
+        int written;
+        Exception error = null;
+        lock.readLock().lock();
+        try {
+            written = collect(className, methodName, methodDesc, mode, ddgOption, style, lines);
+        } catch (Exception e) {
+            written = 0;
+            error = e;
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (byte[] line : lines) {
+            out.write(line);
+            out.write('\n');
+        }
+        if (error != null) throw error;
+        return written;
+    }
+
+    /** 읽기 잠금 아래서 분석해 응답 줄(메서드 결과와 메서드 단위 실패)을 lines 에 모으고, 결과 줄 수를 돌려준다 */
+    private int collect(String className, String methodName, String methodDesc, String mode, String ddgOption,
+                        JsonExporter.Style style, List<byte[]> lines) throws Exception {
+        if (session == null) throw new IllegalStateException("Daemon is shutting down");
+        Path file = classFiles.get(className.replace('.', '/'));
+        if (file == null) throw new IllegalArgumentException("Class not found: " + className);
+        BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClassFile(file);
+        if (projector.isInterfaceClass(session, scan.internalName)) return 0;
+
+        List<BcelClassIntrospector.MethodSig> selected = new ArrayList<>();
+        for (BcelClassIntrospector.MethodSig ms : scan.methods) {
+            if (methodName != null && !methodName.equals(ms.name)) continue;
+            if (methodDesc != null && !methodDesc.equals(ms.desc)) continue;
+            selected.add(ms);
+        }
+        ClassAnalyzer.Graphs graphs = classAnalyzer.build(scan.javaClass, mode);
+        // 직렬화도 sink 안에서 하므로 투영이나 직렬화가 실패해도 그 메서드만 실패로 알리고 나머지는 계속 분석
+        Map<BcelClassIntrospector.MethodSig, byte[]> serialized = new HashMap<>();
+        List<ClassAnalyzer.MethodResult> results = classAnalyzer.analyze(session, scan.internalName, graphs, selected,
+                ddgOption, Metrics.DISABLED, (ms, instrCFG, flow) ->
+                        serialized.put(ms, JsonExporter.toBytes(scan.internalName, ms.name, ms.desc, instrCFG, flow, style)));
+        int written = 0;
+        int failed = 0;
+        for (ClassAnalyzer.MethodResult r : results) {
+            if (r.status() == ClassAnalyzer.Status.ANALYZED) {
+                lines.add(serialized.get(r.sig()));
+                written++;
+            } else if (r.status() == ClassAnalyzer.Status.FAILED) {
+                lines.add(methodError(scan.internalName, r.sig(), r.failure()));
+                failed++;
+            }
+        }
+        if (written == 0 && methodName != null) {
+            String target = className + "." + methodName + (methodDesc == null ? "" : methodDesc);
+            if (selected.isEmpty()) throw new IllegalArgumentException(withoutCode(scan.javaClass, methodName, methodDesc, target));
+            if (failed > 0) throw new IllegalStateException("Could not analyze " + target);
+            throw new IllegalArgumentException("No flow for " + target + ": the method is abstract in the class hierarchy");
+        }
+        return written;
+    }
+
+    /**
+     * Code 가 있는 메서드 중 요청과 맞는 것이 없을 때의 메시지. 선언은 되어 있지만 본문이 없는 abstract/native
+     * 메서드는 "없음" 과 구별해 알린다.
+     */
+    private static String withoutCode(JavaClass jc, String methodName, String methodDesc,
+                                      String target) {
+        boolean isAbstract = false;
+        boolean isNative = false;
+        for (Method m : jc.getMethods()) {
+            if (!m.getName().equals(methodName) || (methodDesc != null && !m.getSignature().equals(methodDesc))) continue;
+            isAbstract |= m.isAbstract();
+            isNative |= m.isNative();
+        }
+        if (isAbstract) return "Method is abstract (no bytecode to analyze): " + target;
+        if (isNative) return "Method is native (no bytecode to analyze): " + target;
+        return "Method not found: " + target;
+    }
+
+    /** 메서드 단위 실패 한 줄: {"class":..,"method":..,"desc":..,"status":"error","message":..} */
+    private static byte[] methodError(String internalName, BcelClassIntrospector.MethodSig ms, Exception error)
+            throws IOException {
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("class", internalName.replace('/', '.'));
+        line.put("method", ms.name);
+        line.put("desc", ms.desc);
+        line.put("status", "error");
+        line.put("message", String.valueOf(error.getMessage()));
+        return MAPPER.writeValueAsBytes(line);
+    }
+
+    private void closeCurrent() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (session != null) session.release();
+            if (inputs != null) inputs.close();
+            session = null;
+            inputs = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -14,7 +14,7 @@ public class Diagnosis {
         this.exclusionsPath = exclusionsPath;
     }
 
-    public void analyzeError(String errorMessage, String currentClassName) {
+    public synchronized void analyzeError(String errorMessage, String currentClassName) {
         if (errorMessage == null || !errorMessage.contains("Class not found: L")) return;
 
         String fullPath = errorMessage.split("L")[1].split(" ")[0].replace(")", "").replace(";", "");
@@ -44,7 +44,7 @@ public class Diagnosis {
         }
     }
 
-    public void addMissingLibrary(String missingClassName, String currentClassName) {
+    public synchronized void addMissingLibrary(String missingClassName, String currentClassName) {
         if (missingClassName == null || missingClassName.equals("java.lang.Object")) return;
 
         String missing = missingClassName.replace('/', '.');
@@ -54,13 +54,13 @@ public class Diagnosis {
         }
     }
 
-    public boolean hasSuggestions() {
+    public synchronized boolean hasSuggestions() {
         return !packagesToUnblock.isEmpty() || !missingLibraries.isEmpty();
     }
 
-    public Set<String> getPackagesToUnblock() { return packagesToUnblock; }
+    public synchronized Set<String> getPackagesToUnblock() { return packagesToUnblock; }
 
-    public void printReport() {
+    public synchronized void printReport() {
         System.out.println("\n" + "=".repeat(20) + " DIAGNOSIS REPORT " + "=".repeat(20));
 
         if (!packagesToUnblock.isEmpty()) {
@@ -0,0 +1,195 @@
+package org.example;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.AnalysisCache;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ssa.*;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 크기 제한이 있는 IR/DefUse 캐시 (스레드 안전). key 는 (메서드, Context, SSAOptions) 이며,
+ * 용량을 넘으면 가장 오래 사용되지 않은 항목부터 버린다 (WALA 기본 AuxiliaryCache 는 2000 개마다 전체를 비움).
+ * IR 과 그 DefUse 는 한 항목에 함께 보관되어 함께 밀려나고, DefUse 는 항목이 가진 IR 인스턴스에 대해서만 보관한다.
+ *
+ * {@link #analysisCache} 로 만든 AnalysisCache 는 getIR/getDefUse 를 이 저장소로 돌리므로
+ * CallGraph 구축, CGNode.getIR()/getDU() 를 쓰는 PDG, 그리고 WalaIRProjector 가 같은 IR 을 공유한다.
+ * (WALA 안에서 SSACache 를 부르는 곳은 AnalysisCache 뿐이며, IAuxiliaryCache 는 패키지 밖에 공개되지 않는다.)
+ */
+public final class IRCache {
+
+    public static final int DEFAULT_CAPACITY = 2000;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Entry> map;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long duHits;
+    private long duMisses;
+
+    public IRCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("IR cache capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= IRCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** 이 캐시를 저장소로 쓰는 AnalysisCache (CallGraph builder 와 세션이 공유) */
+    public AnalysisCache analysisCache(IRFactory<IMethod> factory) {
+        // 기반 SSACache 는 getIR/getDefUse 를 모두 가로채므로 비어 있는 채로 남는다
+        return new AnalysisCache(factory, SSAOptions.defaultOptions(),
+                new SSACache(factory, new AuxiliaryCache(), new AuxiliaryCache())) {
+            @Override
+            public IR getIR(IMethod method, Context context) {
+                if (method == null) throw new IllegalArgumentException("method is null");
+                return ir(factory, method, context, getSSAOptions());
+            }
+
+            @Override
+            public DefUse getDefUse(IR ir) {
+                if (ir == null) throw new IllegalArgumentException("ir is null");
+                return defUse(ir, Everywhere.EVERYWHERE);
+            }
+
+            @Override
+            public void invalidate(IMethod method, Context context) {
+                super.invalidate(method, context);
+                IRCache.this.invalidate(method, context);
+            }
+
+            @Override
+            public void clear() {
+                super.clear();
+                wipe();
+            }
+        };
+    }
+
+    /**
+     * 캐시된 IR, 없으면 만들어 넣는다. 한 key 의 IR 은 그 항목을 처음 만든 스레드가 잠금 밖에서 만들고,
+     * 같은 key 를 요청한 다른 스레드는 그 결과를 기다리므로 모두 같은 IR 인스턴스를 받는다.
+     * 서로 다른 메서드의 IR 은 동시에 만들어진다.
+     */
+    public IR ir(IRFactory<IMethod> factory, IMethod method, Context context, SSAOptions options) {
+        // SSACache.findOrCreateIR 과 같은 규칙: abstract/native 는 IR 없음, context 가 무관하면 Everywhere 로 공유
+        if (method.isAbstract() || method.isNative()) return null;
+        if (factory.contextIsIrrelevant(method)) context = Everywhere.EVERYWHERE;
+        Key key = new Key(method, context, options);
+        Entry e;
+        boolean owner = false;
+        synchronized (this) {
+            e = map.get(key);
+            if (e == null) {
+                misses++;
+                e = new Entry();
+                map.put(key, e);
+                owner = true;
+            } else {
+                hits++;
+            }
+        }
+        if (owner) {
+            IR ir;
+            try {
+                ir = factory.makeIR(method, context, options);
+            } catch (RuntimeException | Error t) {
+                remove(key, e);
+                e.ir.completeExceptionally(t);
+                throw t;
+            }
+            if (ir == null) remove(key, e);
+            e.ir.complete(ir);
+            return ir;
+        }
+        try {
+            return e.ir.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException r) throw r;
+            if (ex.getCause() instanceof Error err) throw err;
+            throw ex;
+        }
+    }
+
+    /**
+     * IR 의 DefUse. ir 이 지금 캐시된 그 IR 인스턴스일 때만 항목에 보관하며, 이미 밀려났거나 다른 IR 이면
+     * 보관하지 않고 새로 만든다 (다른 IR 의 명령어를 가리키는 DefUse 를 돌려주지 않도록).
+     */
+    public DefUse defUse(IR ir, Context context) {
+        Entry e;
+        synchronized (this) {
+            e = map.get(new Key(ir.getMethod(), context, ir.getOptions()));
+        }
+        if (e == null || e.ir.getNow(null) != ir) {
+            synchronized (this) {
+                duMisses++;
+            }
+            return new DefUse(ir);
+        }
+        return e.defUse(ir);
+    }
+
+    private synchronized void remove(Key key, Entry e) {
+        map.remove(key, e);
+    }
+
+    private synchronized void invalidate(IMethod method, Context c) {
+        Iterator<Key> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            Key k = it.next();
+            if (k.method.equals(method) && Objects.equals(k.context, c)) it.remove();
+        }
+    }
+
+    /** 항목만 비우고 누적 카운터는 유지 */
+    private synchronized void wipe() {
+        map.clear();
+    }
+
+    /** 지금 보관 중인 항목 수 */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized void printSummary(PrintStream out) {
+        long total = hits + misses;
+        out.println("  - IR cache  : " + String.format("%d hit / %d miss (%.1f%%), %d evicted, %d cached",
+                hits, misses, total == 0 ? 0.0 : 100.0 * hits / total, evictions, map.size())
+                + " (capacity " + capacity + ")");
+        out.println("  - DU cache  : " + duHits + " hit / " + duMisses + " miss");
+    }
+
+    private record Key(IMethod method, Context context, SSAOptions options) {}
+
+    /** 한 key 의 IR(만드는 중이면 완료를 기다릴 future)과 그 IR 의 DefUse */
+    private final class Entry {
+        final CompletableFuture<IR> ir = new CompletableFuture<>();
+        private DefUse defUse;   // guarded by this
+
+        synchronized DefUse defUse(IR owner) {
+            boolean hit = defUse != null;
+            if (!hit) defUse = new DefUse(owner);
+            synchronized (IRCache.this) {
+                if (hit) duHits++; else duMisses++;
+            }
+            return defUse;
+        }
+    }
+}
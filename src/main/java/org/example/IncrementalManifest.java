@@ -0,0 +1,283 @@
+package org.example;
+
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * 증분 실행용 manifest. 지난 실행에서 성공적으로 분석된 .class 파일마다
+ * "클래스 파일 key({@link ClassInputs#keyOf}) \t 내용 해시 \t 내부 클래스 이름 \t 상위 타입 \t 참조 클래스 \t 메서드 이름"
+ * 한 줄을 기록한다 (목록은 콤마 구분, 각 값의 '\\', 탭, 줄바꿈, 콤마는 escape).
+ * 첫 줄은 실행 key(분석 모드, ddgOption, exclusions 해시, 출력 형식)이며, key 가 다르면 manifest 전체를 무시한다.
+ *
+ * 다음 실행에서는 해시가 같고 의존하는 클래스 중 바뀐 것이 없는 파일만 건너뛰고 이전 출력을 그대로 둔다.
+ * 의존 관계는 출력이 무엇에 좌우되는지에 따라 다르다.
+ *   NO_DDG: 메서드 자신의 IR 만 보므로 상위 타입 체인만 따라간다.
+ *   DDG   : PDG 가 호출 대상의 mod/ref 를 쓰므로 상수 풀이 참조하는 클래스(호출/필드 대상)를 전이적으로 따라가고,
+ *           하위 타입이 바뀌면 상위 타입을 통한 가상 호출 대상도 바뀌므로 상위 타입에 의존하는 클래스도 다시 분석한다.
+ *           참조 관계가 전혀 없는 클래스를 거친 힙 별칭 변화까지는 추적하지 않는다.
+ * 삭제된 클래스와 없어진 메서드는 {@link Plan#dropped} 로 알려 이전 출력을 지울 수 있게 한다.
+ */
+public final class IncrementalManifest {
+
+    public static final Path DEFAULT_PATH = Paths.get("out", ".bytegraph-manifest");
+
+    /**
+     * 파일 하나의 기록: 내용 해시, 내부 클래스 이름(예: a/b/C), 상위 클래스 + 인터페이스,
+     * 상수 풀이 참조하는 클래스(DDG 일 때만, 자신 제외), Code 있는 메서드 이름
+     */
+    public record Record(String hash, String internalName, List<String> supers, List<String> refs, List<String> methods) {}
+
+    /** 이전 출력을 지울 대상: 클래스가 삭제(또는 이름 변경)되었으면 wholeClass, 아니면 없어진 메서드 이름만 */
+    public record Dropped(String internalName, Set<String> methods, boolean wholeClass) {}
+
+    /** 이번 실행 계획: 다시 분석할 파일, (분석 성공 시 저장할) 모든 파일의 현재 기록, 출력을 지울 클래스/메서드 */
+    public record Plan(List<Path> toAnalyze, Map<Path, Record> current, List<Dropped> dropped) {}
+
+    private final Path file;
+    private final String runKey;
+    private final Map<String, Record> records;   // 클래스 파일 key -> 기록
+
+    private IncrementalManifest(Path file, String runKey, Map<String, Record> records) {
+        this.file = file;
+        this.runKey = runKey;
+        this.records = records;
+    }
+
+    /** 실행 key: 값이 하나라도 바뀌면 모든 클래스를 다시 분석한다 */
+    public static String runKey(String mode, String ddgOption, Path exclusionsPath, String outputKey) throws IOException {
+        byte[] exclusions = Files.exists(exclusionsPath) ? Files.readAllBytes(exclusionsPath) : new byte[0];
+        return mode + "/" + ddgOption + "/" + sha256(exclusions) + "/" + outputKey;
+    }
+
+    /** manifest 를 읽는다. 파일이 없거나 key 가 다르면 빈 manifest */
+    public static IncrementalManifest load(Path file, String runKey) throws IOException {
+        Map<String, Record> records = new HashMap<>();
+        if (Files.exists(file)) {
+            try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                if (runKey.equals(br.readLine())) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        String[] f = line.split("\t", -1);
+                        if (f.length != 6) continue;                // 이전 형식의 기록은 다시 분석
+                        records.put(unescape(f[0]), new Record(f[1], unescape(f[2]), splitList(f[3]), splitList(f[4]),
+                                splitList(f[5])));
+                    }
+                } else {
+                    System.out.println(">>> [Incremental] Run settings changed, re-analyzing everything");
+                }
+            }
+        }
+        return new IncrementalManifest(file, runKey, records);
+    }
+
+    /**
+     * 현재 파일들의 해시를 계산해 다시 분석할 파일을 고른다.
+     * 내용이 바뀐 파일, 새 파일, 그리고 바뀌거나 삭제된 클래스에 (전이적으로) 의존하는 파일이 대상이다.
+     * followReferences 는 DDG 를 만들 때 true (상수 풀 참조와 하위 타입 변경까지 따라감).
+     */
+    public Plan plan(ClassInputs inputs, List<Path> files, boolean followReferences) {
+        Map<Path, Record> current = new LinkedHashMap<>();
+        Set<Path> changed = new HashSet<>();
+        Set<String> dirtyNames = new HashSet<>();
+        Set<String> dirtySupers = new HashSet<>();
+        Set<String> seenKeys = new HashSet<>();
+        List<Dropped> dropped = new ArrayList<>();
+
+        for (Path f : files) {
+            String key = inputs.keyOf(f);
+            seenKeys.add(key);
+            Record old = records.get(key);
+            try {
+                byte[] bytes = Files.readAllBytes(f);
+                String hash = sha256(bytes);
+                if (old != null && old.hash.equals(hash)) {
+                    current.put(f, old);
+                    continue;
+                }
+                BcelClassIntrospector.ClassScan scan = BcelClassIntrospector.scanClass(bytes, f.toString());
+                JavaClass jc = scan.javaClass;
+                List<String> supers = new ArrayList<>();
+                supers.add(jc.getSuperclassName().replace('.', '/'));
+                for (String i : jc.getInterfaceNames()) supers.add(i.replace('.', '/'));
+                List<String> refs = new ArrayList<>();
+                if (followReferences) {
+                    Set<String> referenced = BcelClassIntrospector.referencedClasses(jc);
+                    referenced.remove(scan.internalName);
+                    refs.addAll(referenced);
+                }
+                Set<String> methods = new LinkedHashSet<>();
+                for (BcelClassIntrospector.MethodSig ms : scan.methods) methods.add(ms.name);
+                Record now = new Record(hash, scan.internalName, supers, refs, new ArrayList<>(methods));
+                current.put(f, now);
+                dirtyNames.add(now.internalName);
+                if (old != null) {
+                    if (!old.internalName.equals(now.internalName)) {
+                        dropped.add(new Dropped(old.internalName, new HashSet<>(old.methods), true));
+                    } else {
+                        Set<String> removed = new HashSet<>(old.methods);
+                        removed.removeAll(methods);
+                        if (!removed.isEmpty()) dropped.add(new Dropped(old.internalName, removed, methods.isEmpty()));
+                    }
+                }
+            } catch (Exception e) {
+                // 읽을 수 없는 파일은 분석 단계에서 실패로 보고되도록 그대로 넘긴다
+            }
+            changed.add(f);
+            if (old != null) {
+                dirtyNames.add(old.internalName);
+                if (followReferences) dirtySupers.addAll(old.supers);    // 이전 상위 타입을 통한 호출 대상도 바뀜
+            }
+        }
+        for (Map.Entry<String, Record> e : records.entrySet()) {
+            if (seenKeys.contains(e.getKey())) continue;
+            Record gone = e.getValue();                                   // 삭제된 클래스
+            dirtyNames.add(gone.internalName);
+            if (followReferences) dirtySupers.addAll(gone.supers);
+            dropped.add(new Dropped(gone.internalName, new HashSet<>(gone.methods), true));
+        }
+
+        // 의존 관계를 거꾸로 따라 변경 전파. 애플리케이션 클래스(지금 또는 지난 실행에 있던 클래스)만 추적하며,
+        // 라이브러리 클래스(예: java/lang/Object)를 거치면 모든 클래스가 서로 연결되므로 건너뛴다
+        Set<String> appNames = new HashSet<>();
+        for (Record r : current.values()) appNames.add(r.internalName);
+        for (Record r : records.values()) appNames.add(r.internalName);
+        for (String s : dirtySupers) {
+            if (appNames.contains(s)) dirtyNames.add(s);
+        }
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Record r : current.values()) {
+            for (String s : r.supers) {
+                if (!appNames.contains(s)) continue;
+                dependents.computeIfAbsent(s, k -> new ArrayList<>()).add(r.internalName);                 // 상위 타입 변경
+                if (followReferences) dependents.computeIfAbsent(r.internalName, k -> new ArrayList<>()).add(s); // 하위 타입 변경
+            }
+            if (!followReferences) continue;
+            for (String d : r.refs) {
+                if (appNames.contains(d)) dependents.computeIfAbsent(d, k -> new ArrayList<>()).add(r.internalName);
+            }
+        }
+        Set<String> stale = new HashSet<>(dirtyNames);
+        Deque<String> work = new ArrayDeque<>(dirtyNames);
+        while (!work.isEmpty()) {
+            for (String d : dependents.getOrDefault(work.poll(), List.of())) {
+                if (stale.add(d)) work.add(d);
+            }
+        }
+
+        List<Path> toAnalyze = new ArrayList<>();
+        for (Path f : files) {
+            Record r = current.get(f);
+            if (changed.contains(f) || (r != null && stale.contains(r.internalName))) toAnalyze.add(f);
+        }
+        System.out.println(">>> [Incremental] " + toAnalyze.size() + " of " + files.size() + " class file(s) to analyze ("
+                + changed.size() + " changed, " + (toAnalyze.size() - changed.size()) + " via dependencies)");
+        return new Plan(toAnalyze, current, liveOnly(dropped, current.values()));
+    }
+
+    /** 같은 이름의 클래스가 다른 파일(예: 다른 jar)에 남아 있으면 그 클래스의 출력은 지우지 않는다 */
+    private static List<Dropped> liveOnly(List<Dropped> dropped, Collection<Record> current) {
+        Map<String, Set<String>> live = new HashMap<>();
+        for (Record r : current) live.computeIfAbsent(r.internalName, k -> new HashSet<>()).addAll(r.methods);
+        List<Dropped> out = new ArrayList<>();
+        for (Dropped d : dropped) {
+            Set<String> still = live.get(d.internalName);
+            if (still == null) {
+                out.add(d);
+                continue;
+            }
+            Set<String> methods = new HashSet<>(d.methods);
+            methods.removeAll(still);
+            if (!methods.isEmpty()) out.add(new Dropped(d.internalName, methods, false));
+        }
+        return out;
+    }
+
+    /**
+     * 실행 결과를 반영해 저장한다. 실패한 파일은 기록하지 않아 다음 실행에서 다시 분석되며,
+     * 이번 대상에 없는 파일(삭제됨)의 기록은 사라진다.
+     */
+    public void save(ClassInputs inputs, Plan plan, Set<Path> failedFiles) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            w.write(runKey);
+            w.write('\n');
+            for (Map.Entry<Path, Record> e : plan.current.entrySet()) {
+                if (failedFiles.contains(e.getKey())) continue;
+                Record r = e.getValue();
+                w.write(escape(inputs.keyOf(e.getKey())) + "\t" + r.hash + "\t" + escape(r.internalName) + "\t"
+                        + joinList(r.supers) + "\t" + joinList(r.refs) + "\t" + joinList(r.methods) + "\n");
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** '\\', 탭, 줄바꿈, 콤마를 escape (클래스/메서드 이름에도 나올 수 있음) */
+    private static String escape(String v) {
+        StringBuilder sb = new StringBuilder(v.length());
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case ',' -> sb.append("\\,");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String v) {
+        List<String> one = splitList(v);
+        return one.isEmpty() ? "" : one.get(0);
+    }
+
+    private static String joinList(List<String> values) {
+        StringJoiner j = new StringJoiner(",");
+        for (String v : values) j.add(escape(v));
+        return j.toString();
+    }
+
+    /** escape 되지 않은 콤마로 나누고 escape 를 푼다 */
+    private static List<String> splitList(String v) {
+        List<String> out = new ArrayList<>();
+        if (v.isEmpty()) return out;
+        StringBuilder cur = new StringBuilder();
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else if (c == '\\' && i + 1 < v.length()) {
+                char n = v.charAt(++i);
+                cur.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                cur.append(c);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
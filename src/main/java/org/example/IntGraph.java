@@ -0,0 +1,178 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * 바이트코드 오프셋 그래프의 압축(CSR) 표현.
+ * 소스 노드는 등록 순서, 목적지는 소스별 삽입 순서를 그대로 보존한다
+ * (기존 LinkedHashMap&lt;Integer, LinkedHashSet&lt;Integer&gt;&gt; 와 동일한 순회 순서).
+ */
+public final class IntGraph {
+
+    public static final IntGraph EMPTY = new IntGraph(new int[0], new int[1], new int[0]);
+
+    private final int[] sources;   // row -> 소스 오프셋
+    private final int[] rowStart;  // row -> targets 시작 인덱스 (length = rows + 1)
+    private final int[] targets;   // 목적지 오프셋
+    private int[] rowOf;           // 오프셋 -> row (-1: 없음), 최초 조회 시 생성
+
+    private IntGraph(int[] sources, int[] rowStart, int[] targets) {
+        this.sources = sources;
+        this.rowStart = rowStart;
+        this.targets = targets;
+    }
+
+    /** 등록된 소스 노드 수 (엣지가 없는 노드 포함) */
+    public int nodeCount() { return sources.length; }
+
+    public int edgeCount() { return targets.length; }
+
+    /** row 번째 소스 노드의 오프셋 */
+    public int source(int row) { return sources[row]; }
+
+    /** row 의 목적지 범위 [rowStart(row), rowEnd(row)) */
+    public int rowStart(int row) { return rowStart[row]; }
+
+    public int rowEnd(int row) { return rowStart[row + 1]; }
+
+    public int target(int i) { return targets[i]; }
+
+    /** 오프셋에 해당하는 row (없으면 -1) */
+    public int row(int offset) {
+        int[] index = rowOf;
+        if (index == null) {
+            int max = -1;
+            for (int s : sources) max = Math.max(max, s);
+            index = new int[max + 1];
+            Arrays.fill(index, -1);
+            for (int r = 0; r < sources.length; r++) index[sources[r]] = r;
+            rowOf = index;
+        }
+        return (offset >= 0 && offset < index.length) ? index[offset] : -1;
+    }
+
+    /** 오프셋의 목적지 목록 (복사본, 없으면 빈 배열) */
+    public int[] successors(int offset) {
+        int r = row(offset);
+        return r < 0 ? new int[0] : Arrays.copyOfRange(targets, rowStart[r], rowStart[r + 1]);
+    }
+
+    /**
+     * 가변 빌더. addNode/addEdge 순서가 그대로 결과 순서가 되며, 같은 (src, dst) 는 한 번만 기록된다.
+     */
+    public static final class Builder {
+        private static final long FREE = -1L;
+
+        private int[] sources;
+        private int nodeCount;
+        private int[] rowOf = new int[0];      // 오프셋 -> row (-1: 없음)
+
+        private int[] edgeRow;
+        private int[] edgeDst;
+        private int edgeCount;
+
+        private long[] seen = new long[16];     // (row, dst) open addressing set
+        private int seenMask = 15;
+
+        public Builder() { this(16); }
+
+        public Builder(int expectedNodes) {
+            int cap = Math.max(4, expectedNodes);
+            sources = new int[cap];
+            edgeRow = new int[cap];
+            edgeDst = new int[cap];
+            Arrays.fill(seen, FREE);
+        }
+
+        /** 엣지 없이 소스 노드만 등록 (이미 있으면 무시) */
+        public Builder addNode(int offset) {
+            rowFor(offset);
+            return this;
+        }
+
+        /** src -> dst 엣지 추가 (src 가 없으면 등록, 중복 엣지는 무시) */
+        public Builder addEdge(int src, int dst) {
+            int row = rowFor(src);
+            if (!markSeen(((long) row << 32) | (dst & 0xFFFFFFFFL))) return this;
+            if (edgeCount == edgeRow.length) {
+                edgeRow = Arrays.copyOf(edgeRow, edgeCount * 2);
+                edgeDst = Arrays.copyOf(edgeDst, edgeCount * 2);
+            }
+            edgeRow[edgeCount] = row;
+            edgeDst[edgeCount] = dst;
+            edgeCount++;
+            return this;
+        }
+
+        /** g 의 모든 소스 노드(순서대로)와 엣지를 병합 */
+        public Builder addAll(IntGraph g) {
+            for (int r = 0; r < g.nodeCount(); r++) {
+                int src = g.source(r);
+                addNode(src);
+                for (int i = g.rowStart(r); i < g.rowEnd(r); i++) addEdge(src, g.target(i));
+            }
+            return this;
+        }
+
+        /** 지금까지 추가된 (중복 제외) 엣지 수 */
+        public int edgeCount() { return edgeCount; }
+
+        public IntGraph build() {
+            // row 별 안정 계수 정렬: 소스별 삽입 순서 유지
+            int[] start = new int[nodeCount + 1];
+            for (int i = 0; i < edgeCount; i++) start[edgeRow[i] + 1]++;
+            for (int r = 0; r < nodeCount; r++) start[r + 1] += start[r];
+            int[] fill = Arrays.copyOf(start, nodeCount);
+            int[] targets = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) targets[fill[edgeRow[i]]++] = edgeDst[i];
+            return new IntGraph(Arrays.copyOf(sources, nodeCount), start, targets);
+        }
+
+        private int rowFor(int offset) {
+            if (offset < 0) throw new IllegalArgumentException("negative offset: " + offset);
+            if (offset >= rowOf.length) {
+                int old = rowOf.length;
+                rowOf = Arrays.copyOf(rowOf, Math.max(offset + 1, old * 2));
+                Arrays.fill(rowOf, old, rowOf.length, -1);
+            }
+            int row = rowOf[offset];
+            if (row < 0) {
+                if (nodeCount == sources.length) sources = Arrays.copyOf(sources, nodeCount * 2);
+                row = nodeCount++;
+                sources[row] = offset;
+                rowOf[offset] = row;
+            }
+            return row;
+        }
+
+        /** key 를 처음 보면 기록하고 true */
+        private boolean markSeen(long key) {
+            if ((edgeCount + 1) * 2 > seen.length) rehash();
+            int i = mix(key) & seenMask;
+            while (seen[i] != FREE) {
+                if (seen[i] == key) return false;
+                i = (i + 1) & seenMask;
+            }
+            seen[i] = key;
+            return true;
+        }
+
+        private void rehash() {
+            long[] old = seen;
+            seen = new long[old.length * 2];
+            seenMask = seen.length - 1;
+            Arrays.fill(seen, FREE);
+            for (long k : old) {
+                if (k == FREE) continue;
+                int i = mix(k) & seenMask;
+                while (seen[i] != FREE) i = (i + 1) & seenMask;
+                seen[i] = k;
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+import jdk.jfr.*;
+
+/**
+ * 분석 단계별 JFR 이벤트 (카테고리 "ByteGraph"). JMC 에서 GC pause 나 hotspot 을 특정 클래스/메서드와 연결하기 위한 것으로,
+ * 기록 중이 아니면 begin/commit 이 거의 비용이 없도록 필드는 shouldCommit() 이 참일 때만 채운다.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {}
+
+    @Name("bytegraph.SessionInit")
+    @Label("Session Init")
+    @Category("ByteGraph")
+    @Description("WalaSession tier construction (CHA, call graph)")
+    public static final class SessionInit extends Event {
+        @Label("Tier") public String tier;
+        @Label("Healing Session") public boolean healing;
+        @Label("Classes") public int classes;
+        @Label("Call Graph Nodes") public int callGraphNodes;
+    }
+
+    @Name("bytegraph.ClassScan")
+    @Label("Class Scan")
+    @Category("ByteGraph")
+    @Description("Class file parse and BCEL instruction graph construction")
+    public static final class ClassScan extends Event {
+        @Label("Class") public String className;
+        @Label("Mode") public String mode;
+        @Label("Methods") public int methods;
+        @Label("Instructions") public int instructions;
+        @Label("CFG Edges") public int cfgEdges;
+        @Label("Exception Edges") public int exEdges;
+    }
+
+    @Name("bytegraph.MethodAnalyze")
+    @Label("Method Analyze")
+    @Category("ByteGraph")
+    @Description("WALA IR construction and DFG/CDG/DDG projection of one method")
+    public static final class MethodAnalyze extends Event {
+        @Label("Method") public String method;
+        @Label("DDG Option") public String ddgOption;
+        @Label("Instructions") public int instructions;
+        @Label("DFG Edges") public int dfgEdges;
+        @Label("CDG Edges") public int cdgEdges;
+        @Label("DDG Edges") public int ddgEdges;
+    }
+
+    @Name("bytegraph.DDGBuild")
+    @Label("DDG Build")
+    @Category("ByteGraph")
+    @Description("PDG construction and projection of data dependences for one method")
+    public static final class DDGBuild extends Event {
+        @Label("Method") public String method;
+        @Label("Instructions") public int instructions;
+        @Label("PDG Edges") public int pdgEdges;
+    }
+
+    @Name("bytegraph.Export")
+    @Label("Export")
+    @Category("ByteGraph")
+    @Description("Serialization of analysis results (per method for JSON/JSONL, per class for binary)")
+    public static final class Export extends Event {
+        @Label("Target") public String target;
+        @Label("Format") public String format;
+        @Label("Mode") public String mode;
+        @Label("Instructions") public int instructions;
+        @Label("Edges") public int edges;
+    }
+}
@@ -1,59 +1,107 @@
 package org.example;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.*;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * 최종 출력(JSON)은 "명령어 노드(오프셋/hex/mnemonic/operands)"와
  * "엣지 집합(CFG/예외/DFG/CDG/DDG)"만 포함. IR 텍스트는 일절 출력하지 않는다.
+ * 트리를 만들지 않고 JsonGenerator 로 Graph/Flow 에서 바로 스트리밍한다.
  */
 public class JsonExporter {
 
+    /** 출력 스타일 */
+    public enum Style {
+        /** 기존 스키마: 들여쓰기 + 엣지를 {"src":..,"dst":..} 객체로 */
+        PRETTY,
+        /** 공백 없음 + 엣지를 [src,dst] 배열로 */
+        COMPACT,
+        /** 기존 스키마(엣지 객체) 이지만 공백 없음 (JSON Lines 용) */
+        PLAIN
+    }
+
+    /** 스레드 안전, 모든 호출에서 공유 */
+    private static final JsonFactory FACTORY = new JsonFactory();
+
     public static void export(String internalClassName, String methodName, String methodDesc,
                               BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f, Path out) throws IOException {
+        export(internalClassName, methodName, methodDesc, g, f, out, Style.PRETTY);
+    }
 
-        ObjectMapper om = new ObjectMapper();
-        ObjectNode root = om.createObjectNode();
-        root.put("method", internalClassName.replace('/', '.') + "." + methodName + methodDesc);
-
-        ArrayNode nodes = om.createArrayNode();
-        for (Map.Entry<Integer, InstructionInfo> e : g.nodes.entrySet()) {
-            InstructionInfo info = e.getValue();
-            ObjectNode n = om.createObjectNode();
-            n.put("offset", info.offset);
-            n.put("hex", info.hexBytes);
-            n.put("mnemonic", info.mnemonic);
-            n.put("operands", info.operands);
-            nodes.add(n);
+    public static void export(String internalClassName, String methodName, String methodDesc,
+                              BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f, Path out, Style style) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(out))) {
+            write(internalClassName, methodName, methodDesc, g, f, os, style);
         }
-        root.set("nodes", nodes);
+    }
 
-        ObjectNode edges = om.createObjectNode();
-        edges.set("cfg", pairs(om, g.cfgEdges));   // 정상 흐름
-        edges.set("ex",  pairs(om, g.exEdges));    // 예외 흐름
-        edges.set("dfg", pairs(om, f.dfg));        // 데이터 흐름(def->use)
-        edges.set("cdg", pairs(om, f.cdg));        // 제어 의존(근사)
-        edges.set("ddg", pairs(om, f.ddg));        // 데이터 의존(=DFG와 동일 스키마)
-        root.set("edges", edges);
+    /** 메서드 하나를 JSON 문서 하나로 직렬화 */
+    public static byte[] toBytes(String internalClassName, String methodName, String methodDesc,
+                                 BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f, Style style) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+        write(internalClassName, methodName, methodDesc, g, f, bos, style);
+        return bos.toByteArray();
+    }
 
-        om.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), root);
+    /** 메서드 하나를 JSON 문서 하나로 os 에 기록 (os 는 닫지 않음) */
+    public static void write(String internalClassName, String methodName, String methodDesc,
+                             BcelBytecodeCFG.Graph g, WalaIRProjector.Flow f, OutputStream os, Style style) throws IOException {
+        try (JsonGenerator gen = FACTORY.createGenerator(os, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (style == Style.PRETTY) gen.useDefaultPrettyPrinter();
+
+            gen.writeStartObject();
+            gen.writeStringField("method", internalClassName.replace('/', '.') + "." + methodName + methodDesc);
+
+            gen.writeArrayFieldStart("nodes");
+            for (InstructionInfo info : g.nodes.values()) {
+                gen.writeStartObject();
+                gen.writeNumberField("offset", info.offset);
+                gen.writeStringField("hex", info.hexBytes);
+                gen.writeStringField("mnemonic", info.mnemonic);
+                gen.writeStringField("operands", info.operands);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+
+            gen.writeObjectFieldStart("edges");
+            pairs(gen, "cfg", g.cfgEdges, style);   // 정상 흐름
+            pairs(gen, "ex",  g.exEdges, style);    // 예외 흐름
+            pairs(gen, "dfg", f.dfg, style);        // 데이터 흐름(def->use)
+            pairs(gen, "cdg", f.cdg, style);        // 제어 의존(근사)
+            pairs(gen, "ddg", f.ddg, style);        // 데이터 의존(=DFG와 동일 스키마)
+            gen.writeEndObject();
+
+            gen.writeEndObject();
+        }
     }
 
-    private static ArrayNode pairs(ObjectMapper om, Map<Integer, Set<Integer>> adj) {
-        ArrayNode arr = om.createArrayNode();
-        for (var e : adj.entrySet()) {
-            int src = e.getKey();
-            for (int dst : e.getValue()) {
-                ObjectNode p = om.createObjectNode();
-                p.put("src", src); p.put("dst", dst);
-                arr.add(p);
+    private static void pairs(JsonGenerator gen, String name, IntGraph adj, Style style) throws IOException {
+        gen.writeArrayFieldStart(name);
+        for (int r = 0; r < adj.nodeCount(); r++) {
+            int src = adj.source(r);
+            for (int i = adj.rowStart(r); i < adj.rowEnd(r); i++) {
+                if (style == Style.COMPACT) {
+                    gen.writeStartArray();
+                    gen.writeNumber(src);
+                    gen.writeNumber(adj.target(i));
+                    gen.writeEndArray();
+                } else {
+                    gen.writeStartObject();
+                    gen.writeNumberField("src", src);
+                    gen.writeNumberField("dst", adj.target(i));
+                    gen.writeEndObject();
+                }
             }
         }
-        return arr;
+        gen.writeEndArray();
     }
 }
@@ -0,0 +1,351 @@
+package org.example;
+
+import com.ibm.wala.ipa.callgraph.CGNode;
+import com.ibm.wala.ipa.callgraph.CallGraph;
+import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
+import com.ibm.wala.ipa.callgraph.propagation.PointerAnalysis;
+import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
+import com.ibm.wala.ipa.modref.ExtendedHeapModel;
+import com.ibm.wala.ipa.modref.ModRef;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAInstruction;
+import com.ibm.wala.util.collections.Iterator2Iterable;
+import com.ibm.wala.util.intset.BitVectorIntSet;
+import com.ibm.wala.util.intset.MutableSparseIntSet;
+import com.ibm.wala.util.intset.OrdinalSet;
+import com.ibm.wala.util.intset.OrdinalSetMapping;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 노드별 지연 Mod/Ref. 전역 computeMod/computeRef 대신, 요청된 노드에서 도달 가능하면서 아직 보관되지 않은
+ * 노드만 SCC 단위로 아래에서 위로 계산한다. 한 SCC 의 전이적 mod/ref 는 구성원들의 지역 mod/ref 와
+ * 후속 SCC(이미 보관된 것 포함) 결과의 합집합이며, 같은 SCC 의 모든 노드가 그 결과를 공유한다.
+ * 따라서 여러 루트가 같은 피호출자를 공유해도 각 SCC 는 (보관소에서 밀려나지 않는 한) 한 번만 계산된다.
+ *
+ * <p>보관된 노드는 탐색의 잎으로 다룬다. 보관된 값은 항상 정확한 전이적 결과이므로 SCC 의 일부만 밀려나
+ * 있어도 결과는 전역 계산과 같다. 계산 결과는 최대 capacity 개 노드까지 LRU 로 보관한다.
+ *
+ * <p>스레드 안전: 탐색은 잠금 없이 하고, SCC 계산만 SCC 대표 노드 번호로 고른 줄무늬 잠금 아래서 한다.
+ * 한 번에 잠금 하나만 잡으므로 교착은 없다. 모든 집합은 하나의 PointerKey 번호표를 공유한다.
+ */
+public final class LazyModRef {
+
+    public static final int DEFAULT_CAPACITY = 20_000;
+    private static final int LOCK_STRIPES = 64;
+
+    /** 한 노드의 전이적 mod/ref */
+    private record Sets(OrdinalSet<PointerKey> mod, OrdinalSet<PointerKey> ref) {}
+
+    private final CallGraph cg;
+    private final PointerAnalysis<InstanceKey> pa;
+    private final ModRef<InstanceKey> modRef;
+    private final ExtendedHeapModel heapModel;
+    private final KeyIndex keys = new KeyIndex();
+    private final int capacity;
+    private final LinkedHashMap<CGNode, Sets> memo;
+    private final Object[] sccLocks = new Object[LOCK_STRIPES];
+    private long sccs;
+    private long computedNodes;
+
+    public LazyModRef(CallGraph cg, PointerAnalysis<InstanceKey> pa, ModRef<InstanceKey> modRef, int capacity) {
+        this.cg = cg;
+        this.pa = pa;
+        this.modRef = modRef;
+        this.heapModel = modRef.makeHeapModel(pa);
+        this.capacity = capacity;
+        this.memo = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CGNode, Sets> eldest) {
+                return size() > LazyModRef.this.capacity;
+            }
+        };
+        for (int i = 0; i < sccLocks.length; i++) sccLocks[i] = new Object();
+    }
+
+    /**
+     * PDG 하나를 만드는 동안 쓸 mod/ref. 조회한 노드가 보관소에서 밀려나도 이 slice 안에서는 다시 계산하지 않는다.
+     * 부분 계산 비용은 metrics 의 MOD_REF 로 기록된다.
+     */
+    public Slice slice(CGNode root, Metrics metrics) {
+        Slice s = new Slice(metrics);
+        s.lookup(root);
+        return s;
+    }
+
+    private Sets cached(CGNode n) {
+        synchronized (memo) {
+            return memo.get(n);
+        }
+    }
+
+    /** root 에서 도달 가능한 노드 중 보관되지 않은 SCC 들을 피호출자부터 계산해 보관하고, root 의 결과를 돌려준다 */
+    private Sets compute(CGNode root, Metrics metrics) {
+        Sets known = cached(root);
+        if (known != null) return known;
+
+        Metrics.Span span = metrics.start();
+        Map<CGNode, Sets> done = new HashMap<>();   // 이번 계산에서 쓰는 후속 결과 (도중에 보관소에서 밀려나도 유지)
+        for (List<CGNode> scc : missingSccs(root, done)) {
+            Sets s = computeScc(scc, done);
+            for (CGNode m : scc) done.put(m, s);
+        }
+        metrics.record(Metrics.Phase.MOD_REF, span);
+        return done.get(root);
+    }
+
+    /**
+     * root 에서 보관되지 않은 노드만 따라가며 SCC 를 역위상 순서(피호출자 먼저)로 모은다 (반복형 Tarjan).
+     * 도중에 만난 보관된 노드의 결과는 done 에 고정해 둔다.
+     */
+    private List<List<CGNode>> missingSccs(CGNode root, Map<CGNode, Sets> done) {
+        final class Frame {
+            final CGNode node;
+            final Iterator<CGNode> succs;
+            final int index;
+            int low;
+
+            Frame(CGNode node, int index) {
+                this.node = node;
+                this.succs = cg.getSuccNodes(node);
+                this.index = index;
+                this.low = index;
+            }
+        }
+        List<List<CGNode>> order = new ArrayList<>();
+        Map<CGNode, Integer> index = new HashMap<>();
+        Set<CGNode> onStack = new HashSet<>();
+        ArrayDeque<CGNode> stack = new ArrayDeque<>();
+        ArrayDeque<Frame> calls = new ArrayDeque<>();
+
+        index.put(root, 0);
+        stack.push(root);
+        onStack.add(root);
+        calls.push(new Frame(root, 0));
+        while (!calls.isEmpty()) {
+            Frame f = calls.peek();
+            if (f.succs.hasNext()) {
+                CGNode m = f.succs.next();
+                if (done.containsKey(m)) continue;
+                Integer mi = index.get(m);
+                if (mi == null) {
+                    Sets known = cached(m);
+                    if (known != null) {
+                        done.put(m, known);
+                        continue;
+                    }
+                    int i = index.size();
+                    index.put(m, i);
+                    stack.push(m);
+                    onStack.add(m);
+                    calls.push(new Frame(m, i));
+                } else if (onStack.contains(m)) {
+                    f.low = Math.min(f.low, mi);
+                }
+                continue;
+            }
+            calls.pop();
+            if (f.low == f.index) {
+                List<CGNode> scc = new ArrayList<>();
+                CGNode m;
+                do {
+                    m = stack.pop();
+                    onStack.remove(m);
+                    scc.add(m);
+                } while (m != f.node);
+                order.add(scc);
+            }
+            if (!calls.isEmpty()) calls.peek().low = Math.min(calls.peek().low, f.low);
+        }
+        return order;
+    }
+
+    /** scc 의 지역 mod/ref 와 done 에 있는 후속 결과를 합친다. 다른 스레드가 먼저 계산했다면 그 결과를 쓴다 */
+    private Sets computeScc(List<CGNode> scc, Map<CGNode, Sets> done) {
+        int rep = Integer.MAX_VALUE;
+        for (CGNode m : scc) rep = Math.min(rep, cg.getNumber(m));
+        synchronized (sccLocks[rep % sccLocks.length]) {
+            for (CGNode m : scc) {
+                Sets s = cached(m);
+                if (s != null) return s;   // 같은 SCC 의 노드는 전이적 결과가 같다
+            }
+            BitVectorIntSet mod = new BitVectorIntSet();
+            BitVectorIntSet ref = new BitVectorIntSet();
+            for (CGNode m : scc) {
+                IR ir = m.getIR();
+                if (ir != null) {
+                    for (SSAInstruction inst : Iterator2Iterable.make(ir.iterateNormalInstructions())) {
+                        for (PointerKey k : modRef.getMod(m, heapModel, pa, inst, null)) mod.add(keys.add(k));
+                        for (PointerKey k : modRef.getRef(m, heapModel, pa, inst, null)) ref.add(keys.add(k));
+                    }
+                }
+                for (CGNode succ : Iterator2Iterable.make(cg.getSuccNodes(m))) {
+                    Sets s = done.get(succ);
+                    if (s == null) continue;   // 같은 SCC 안의 노드
+                    mod.addAll(s.mod.getBackingSet());
+                    ref.addAll(s.ref.getBackingSet());
+                }
+            }
+            Sets result = new Sets(new OrdinalSet<>(MutableSparseIntSet.make(mod), keys),
+                    new OrdinalSet<>(MutableSparseIntSet.make(ref), keys));
+            synchronized (memo) {
+                for (CGNode m : scc) memo.put(m, result);
+                sccs++;
+                computedNodes += scc.size();
+            }
+            return result;
+        }
+    }
+
+    /** 지금까지 계산한 SCC 수와 노드 수, 보관 중인 노드 수 */
+    public String stats() {
+        synchronized (memo) {
+            return sccs + " SCC(s) over " + computedNodes + " node(s) of " + cg.getNumberOfNodes()
+                    + ", " + memo.size() + " cached";
+        }
+    }
+
+    /**
+     * PDG 생성자에 넘기는 mod/ref 맵. 값은 조회할 때 계산된다.
+     *
+     * <p>WALA 의 PDG 와 HeapReachingDefs 는 이 맵에 get 만 호출한다 (호출 지점의 피호출자를 하나씩 조회).
+     * entrySet 등 전체 순회도 Map 계약대로 동작하지만 CallGraph 의 모든 노드를 계산하게 되므로 쓰지 않는다.
+     */
+    public final class Slice {
+        private final Metrics metrics;
+        private final Map<CGNode, Sets> local = new HashMap<>();
+        public final Map<CGNode, OrdinalSet<PointerKey>> mod = new View(true);
+        public final Map<CGNode, OrdinalSet<PointerKey>> ref = new View(false);
+
+        private Slice(Metrics metrics) { this.metrics = metrics; }
+
+        private Sets lookup(CGNode n) {
+            Sets s = local.get(n);
+            if (s != null) return s;
+            s = compute(n, metrics);
+            local.put(n, s);
+            return s;
+        }
+
+        private final class View extends AbstractMap<CGNode, OrdinalSet<PointerKey>> {
+            private final boolean isMod;
+
+            View(boolean isMod) { this.isMod = isMod; }
+
+            @Override
+            public OrdinalSet<PointerKey> get(Object key) {
+                if (!(key instanceof CGNode n) || !cg.containsNode(n)) return null;
+                Sets s = lookup(n);
+                return isMod ? s.mod : s.ref;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof CGNode n && cg.containsNode(n);
+            }
+
+            @Override
+            public int size() {
+                return cg.getNumberOfNodes();
+            }
+
+            @Override
+            public Set<Entry<CGNode, OrdinalSet<PointerKey>>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<CGNode, OrdinalSet<PointerKey>>> iterator() {
+                        Iterator<CGNode> nodes = cg.iterator();
+                        return new Iterator<>() {
+                            @Override
+                            public boolean hasNext() { return nodes.hasNext(); }
+
+                            @Override
+                            public Entry<CGNode, OrdinalSet<PointerKey>> next() {
+                                CGNode n = nodes.next();
+                                return new SimpleImmutableEntry<>(n, get(n));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return cg.getNumberOfNodes();
+                    }
+                };
+            }
+        }
+    }
+
+    /**
+     * 모든 집합이 공유하는 PointerKey 번호표. 추가는 잠금 아래서 하고, 조회는 잠금 없이 한다.
+     * 번호가 붙은 뒤에는 바뀌지 않으므로 집합을 받은 스레드는 그 원소를 항상 볼 수 있다.
+     */
+    private static final class KeyIndex implements OrdinalSetMapping<PointerKey> {
+        private static final int CHUNK_BITS = 12;
+        private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+        private final ConcurrentHashMap<PointerKey, Integer> index = new ConcurrentHashMap<>();
+        private volatile PointerKey[][] chunks = new PointerKey[16][];
+        private volatile int size;
+
+        @Override
+        public int add(PointerKey k) {
+            Integer i = index.get(k);
+            if (i != null) return i;
+            synchronized (this) {
+                i = index.get(k);
+                if (i != null) return i;
+                int n = size;
+                PointerKey[][] c = chunks;
+                int ci = n >>> CHUNK_BITS;
+                if (ci == c.length) c = Arrays.copyOf(c, c.length * 2);
+                if (c[ci] == null) c[ci] = new PointerKey[1 << CHUNK_BITS];
+                c[ci][n & CHUNK_MASK] = k;
+                chunks = c;
+                size = n + 1;
+                index.put(k, n);
+                return n;
+            }
+        }
+
+        @Override
+        public PointerKey getMappedObject(int n) {
+            if (n < 0 || n >= size) throw new NoSuchElementException("no key " + n);
+            return chunks[n >>> CHUNK_BITS][n & CHUNK_MASK];
+        }
+
+        @Override
+        public int getMappedIndex(Object o) {
+            Integer i = index.get(o);
+            return i == null ? -1 : i;
+        }
+
+        @Override
+        public boolean hasMappedIndex(PointerKey k) {
+            return index.containsKey(k);
+        }
+
+        @Override
+        public int getMaximumIndex() {
+            return size - 1;
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public Stream<PointerKey> stream() {
+            return IntStream.range(0, size).mapToObj(this::getMappedObject);
+        }
+
+        @Override
+        public Iterator<PointerKey> iterator() {
+            return stream().iterator();
+        }
+    }
+}
@@ -3,14 +3,26 @@ package org.example;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Main {
-    private static final Set<String> VALID_DDG_OPTIONS = Set.of("DDG", "NO_DDG");
-    private static final Set<String> VALID_DFG_MODES = Set.of("DATA_STACK", "DATA_LOCAL", "WALA_ONLY");
+    static final Set<String> VALID_DDG_OPTIONS = Set.of("DDG", "NO_DDG");
+    static final Set<String> VALID_DFG_MODES = Set.of("DATA_STACK", "DATA_LOCAL", "WALA_ONLY");
     private static final Path EXCLUSIONS_PATH = Paths.get("exclusions.txt");
 
-    public static void main(String[] args) throws Exception {
+    public static void main(String[] rawArgs) throws Exception {
+        // "--key=value" 형식은 옵션, 나머지는 위치 인자
+        Map<String, String> options = new HashMap<>();
+        List<String> positional = new ArrayList<>();
+        for (String a : rawArgs) {
+            if (a.startsWith("--")) {
+                int eq = a.indexOf('=');
+                options.put(eq < 0 ? a.substring(2) : a.substring(2, eq), eq < 0 ? "" : a.substring(eq + 1));
+            } else {
+                positional.add(a);
+            }
+        }
+        String[] args = positional.toArray(new String[0]);
+
         if (args.length < 1) {
             printUsage();
             System.exit(1);
@@ -18,23 +30,92 @@ public class Main {
 
         String mode = (args.length > 1) ? args[1].toUpperCase() : "DATA_LOCAL";
         String ddgOption = (args.length > 2) ? args[2].toUpperCase() : "DDG";
+        int workers = (args.length > 3) ? positiveInt("workers", args[3]) : Runtime.getRuntime().availableProcessors();
         Path targetPath = Paths.get(args[0]).toAbsolutePath();
-        String appClassPath = Files.isDirectory(targetPath) ? targetPath.toString() : targetPath.getParent().toString();
+        int irCacheCapacity = options.containsKey("ir-cache")
+                ? positiveInt("--ir-cache", options.get("ir-cache")) : IRCache.DEFAULT_CAPACITY;
+
+        // 상주 모드: 세션을 한 번 만들고 요청마다 재사용 (--serve: 표준 입출력, --serve=PORT: 루프백 소켓)
+        if (options.containsKey("serve")) {
+            Daemon daemon = new Daemon(targetPath, mode, ddgOption, irCacheCapacity);
+            String port = options.get("serve");
+            if (port.isEmpty()) daemon.serveStdio(); else daemon.serveSocket(portNumber("--serve", port));
+            return;
+        }
 
         Diagnosis diagnosis = new Diagnosis(EXCLUSIONS_PATH);
-        Analysis engine = new Analysis(mode, ddgOption, diagnosis);
+        Analysis engine = new Analysis(mode, ddgOption, diagnosis, workers);
+        // PLAIN 은 JSON Lines 한 줄용 내부 스타일이므로 --json 으로는 pretty/compact 만 받는다
+        String json = options.getOrDefault("json", "pretty").toLowerCase();
+        if (!json.equals("pretty") && !json.equals("compact")) usageError("--json must be pretty or compact: '" + json + "'");
+        JsonExporter.Style jsonStyle = json.equals("compact") ? JsonExporter.Style.COMPACT : JsonExporter.Style.PRETTY;
+        engine.setJsonStyle(jsonStyle);
+        Analysis.OutputFormat format = enumOption("--format", options.getOrDefault("format", "json"), Analysis.OutputFormat.class);
+        engine.setOutputFormat(format);
+        boolean incremental = options.containsKey("incremental");
+        Partitioner.Strategy partitioning = options.containsKey("partition")
+                ? enumOption("--partition", options.get("partition"), Partitioner.Strategy.class) : null;
+        int partitionSize = options.containsKey("partition-size")
+                ? positiveInt("--partition-size", options.get("partition-size")) : Partitioner.DEFAULT_SIZE;
+        if (incremental && format == Analysis.OutputFormat.JSONL) {
+            // archive 는 실행마다 새로 쓰므로 건너뛴 클래스의 이전 결과를 유지할 수 없음
+            System.err.println("--incremental requires per-class outputs (--format=json|binary)");
+            System.exit(1);
+        }
         Set<Path> failedFiles = new LinkedHashSet<>();
 
-        try {
-            // [1차 시도] 기존 exclusions.txt 사용하여 빠르게 분석
-            System.out.println(">>> [Pass 1] Starting fast analysis with exclusions...");
-            WalaSession session1 = WalaSession.init(appClassPath, Collections.emptySet(), Collections.emptyList());
+        // 대상(.class / .jar / .zip / 디렉토리)은 두 Pass 가 끝날 때까지 열어 둔다.
+        // JSONL 이면 두 Pass 의 결과가 모두 하나의 archive 에 이어서 기록됨
+        try (ClassInputs inputs = ClassInputs.open(targetPath);
+             ArchiveWriter archive = (format == Analysis.OutputFormat.JSONL)
+                     ? ArchiveWriter.open(ArchiveWriter.DEFAULT_PATH) : null) {
+            engine.setArchive(archive);
 
-            List<Path> filesToProcess = Files.isDirectory(targetPath)
-                    ? Files.walk(targetPath).filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())
-                    : List.of(targetPath);
+            List<Path> filesToProcess = inputs.classFiles();
 
-            engine.run(session1, filesToProcess, failedFiles);
+            // 증분 모드: 내용과 의존 클래스가 그대로인 클래스는 건너뛰고 이전 출력을 유지, 사라진 클래스/메서드의 출력은 삭제
+            IncrementalManifest manifest = null;
+            IncrementalManifest.Plan plan = null;
+            if (incremental) {
+                manifest = IncrementalManifest.load(IncrementalManifest.DEFAULT_PATH,
+                        IncrementalManifest.runKey(mode, ddgOption, EXCLUSIONS_PATH, format + "/" + jsonStyle));
+                plan = manifest.plan(inputs, filesToProcess, !"NO_DDG".equals(ddgOption));
+                filesToProcess = plan.toAnalyze();
+                int deleted = 0;
+                for (IncrementalManifest.Dropped d : plan.dropped()) {
+                    deleted += engine.deleteOutputs(d.internalName(), d.methods(), d.wholeClass());
+                }
+                if (deleted > 0) System.out.println(">>> [Incremental] Deleted " + deleted + " stale output file(s)");
+            }
+
+            if (manifest != null && filesToProcess.isEmpty()) {
+                System.out.println(">>> Nothing to analyze, all outputs are up to date.");
+                manifest.save(inputs, plan, failedFiles);
+                return;
+            }
+
+            // [1차 시도] 기존 exclusions.txt 사용하여 빠르게 분석
+            System.out.println(">>> [Pass 1] Starting fast analysis with exclusions...");
+            WalaSession session1 = WalaSession.init(inputs.classPath(), Collections.emptySet(), Collections.emptyList(),
+                    irCacheCapacity);
+            if (partitioning == null) {
+                engine.run(session1, filesToProcess, failedFiles, "pass1");
+            } else {
+                // 분할 분석: 묶음마다 CHA 를 공유하는 세션을 만들고, 끝나면 해제해 최대 메모리를 가장 큰 묶음 기준으로 제한
+                List<Partitioner.Partition> partitions = Partitioner.partition(filesToProcess, partitioning, partitionSize);
+                for (int i = 0; i < partitions.size(); i++) {
+                    Partitioner.Partition part = partitions.get(i);
+                    System.out.println("\n>>> [Pass 1] Partition " + (i + 1) + "/" + partitions.size()
+                            + " (" + part.classes().size() + " classes, by " + partitioning.name().toLowerCase() + ")");
+                    WalaSession partSession = session1.focus(part.classes());
+                    try {
+                        engine.run(partSession, part.files(), failedFiles, "pass1-part" + (i + 1));
+                    } finally {
+                        partSession.release();
+                    }
+                }
+            }
+            Set<Path> stillFailed = failedFiles;
 
             // [2차 시도 - Healing] 실패한 파일 재시도
             if (!failedFiles.isEmpty()) {
@@ -48,25 +129,90 @@ public class Main {
                     if (!diagnosis.getPackagesToUnblock().isEmpty()) {
                         System.out.println(">>> Retrying with dynamic unblocking for: " + diagnosis.getPackagesToUnblock());
 
-                        WalaSession healingSession = WalaSession.init(
-                                appClassPath,
+                        // 1차 세션의 모듈을 재사용하고, 실패한 클래스만 엔트리포인트로 삼아 확장
+                        WalaSession healingSession = session1.heal(
                                 diagnosis.getPackagesToUnblock(),
-                                Collections.emptyList() // 필요 시 외부 라이브러리 경로 추가 가능
+                                Collections.emptyList(), // 필요 시 외부 라이브러리 경로 추가 가능
+                                classNamesOf(failedFiles)
                         );
 
                         Set<Path> pass2Failed = new HashSet<>();
-                        engine.run(healingSession, new ArrayList<>(failedFiles), pass2Failed);
+                        engine.run(healingSession, new ArrayList<>(failedFiles), pass2Failed, "pass2");
+                        stillFailed = pass2Failed;
                     }
                 } else {
                     System.out.println(">>> No clear healing path found for remaining failures.");
                 }
             }
+
+            if (manifest != null) manifest.save(inputs, plan, stillFailed);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /** 실패한 .class 파일들의 내부 클래스 이름 (스캔 자체가 실패한 파일은 제외) */
+    private static Set<String> classNamesOf(Collection<Path> files) {
+        Set<String> names = new HashSet<>();
+        for (Path file : files) {
+            try {
+                names.add(BcelClassIntrospector.scanClassFile(file).internalName);
+            } catch (Exception ignore) {}
+        }
+        return names;
+    }
+
+    /** 1 이상의 정수 인자. 숫자가 아니거나 1 미만이면 사용법을 출력하고 종료한다 */
+    private static int positiveInt(String name, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n >= 1) return n;
+        } catch (NumberFormatException ignore) {}
+        usageError(name + " must be a positive integer: '" + value + "'");
+        return -1; // 도달하지 않음
+    }
+
+    private static int portNumber(String name, String value) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n >= 1 && n <= 65535) return n;
+        } catch (NumberFormatException ignore) {}
+        usageError(name + " must be a port number between 1 and 65535: '" + value + "'");
+        return -1; // 도달하지 않음
+    }
+
+    /** 대소문자를 무시하고 value 와 이름이 같은 상수, 없으면 받을 수 있는 값과 함께 사용법 오류 */
+    private static <E extends Enum<E>> E enumOption(String name, String value, Class<E> type) {
+        StringJoiner accepted = new StringJoiner("|");
+        for (E e : type.getEnumConstants()) {
+            if (e.name().equalsIgnoreCase(value)) return e;
+            accepted.add(e.name().toLowerCase());
+        }
+        usageError(name + " must be " + accepted + ": '" + value + "'");
+        return null; // 도달하지 않음
+    }
+
+    private static void usageError(String message) {
+        System.err.println(message);
+        printUsage();
+        System.exit(1);
+    }
+
     private static void printUsage() {
-        System.err.println("Usage: java -jar bytegraph.jar <appClassPath> [mode] [ddgOption]");
+        System.err.println("Usage: java -jar bytegraph.jar <target> [mode] [ddgOption] [workers] [options]");
+        System.err.println("  target: a .class file, a .jar/.zip, or a directory of .class files and/or .jar/.zip files");
+        System.err.println("Options:");
+        System.err.println("  --json=pretty|compact       JSON style (compact: no whitespace, edges as [src,dst])");
+        System.err.println("  --format=json|binary|jsonl  output format (binary: one out/<class>.bgr per class,");
+        System.err.println("                              jsonl: one out/graphs.jsonl + out/graphs.jsonl.idx per run)");
+        System.err.println("  --incremental               skip classes whose content and dependencies are unchanged since the");
+        System.err.println("                              last run (supertypes; with DDG also referenced classes and subtypes)");
+        System.err.println("                              and delete outputs of removed classes/methods (out/.bytegraph-manifest)");
+        System.err.println("  --partition=package|deps    analyze in partitions, each with its own call graph whose entrypoints");
+        System.err.println("                              are the partition's classes (deps: connected by class references)");
+        System.err.println("  --partition-size=N          maximum classes per partition (default " + Partitioner.DEFAULT_SIZE + ")");
+        System.err.println("  --serve[=PORT]              stay resident and answer JSON analyze/reload requests, one per line,");
+        System.err.println("                              on stdin/stdout or on a loopback socket (see Daemon)");
+        System.err.println("  --ir-cache=N                keep at most N method IRs (and DefUse) per session (default " + IRCache.DEFAULT_CAPACITY + ")");
     }
 }
\ No newline at end of file
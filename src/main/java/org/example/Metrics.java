@@ -0,0 +1,231 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 분석 단계별 계측 (스레드 안전). 단계마다 호출 스레드 기준 wall time 과 할당 바이트
+ * (com.sun.management.ThreadMXBean)를 누적하고, 시간은 로그 스케일 히스토그램으로 p50/p99/max 를 낸다.
+ * 메서드 전체 시간이 가장 긴 {@link #SLOWEST} 개는 따로 보관한다.
+ */
+public final class Metrics {
+
+    /** 계측 단계. 세션 단계는 세션당 1회(MOD_REF 는 부분 계산마다), 클래스 단계는 클래스당 1회, 나머지는 메서드당 1회 */
+    public enum Phase {
+        CHA, CALL_GRAPH, MOD_REF,     // WalaSession tier (MOD_REF: 노드별 지연 계산, DDG 에도 포함됨)
+        SCAN, BCEL,                   // 클래스 단위
+        IR, DFG, CDG, DDG, EXPORT,    // 메서드 단위
+        METHOD                        // 메서드 전체 (IR ~ EXPORT)
+    }
+
+    /** 구간 시작점. {@link #record} 가 끝점을 다음 구간의 시작점으로 갱신하므로 연속된 단계에 재사용한다 */
+    public static final class Span {
+        private long nanos;
+        private long bytes;
+
+        private Span() { reset(); }
+
+        private void reset() {
+            nanos = System.nanoTime();
+            bytes = allocatedBytes();
+        }
+    }
+
+    /** 메서드 하나의 전체 비용 */
+    public record MethodCost(String signature, long nanos, long bytes) {}
+
+    /** 아무것도 기록하지 않는 인스턴스 (계측을 원하지 않는 호출자용) */
+    public static final Metrics DISABLED = new Metrics(false);
+
+    public static final int SLOWEST = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final boolean enabled;
+    private final Histogram[] phases = new Histogram[Phase.values().length];
+    private final PriorityQueue<MethodCost> slowest = new PriorityQueue<>(Comparator.comparingLong(MethodCost::nanos));
+
+    public Metrics() {
+        this(true);
+    }
+
+    private Metrics(boolean enabled) {
+        this.enabled = enabled;
+        for (Phase p : Phase.values()) phases[p.ordinal()] = new Histogram();
+    }
+
+    public Span start() {
+        return new Span();
+    }
+
+    /** span 이후 현재 스레드에서 걸린 시간/할당을 phase 에 기록하고 span 을 지금으로 옮긴다 */
+    public void record(Phase phase, Span span) {
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        record(phase, nanos - span.nanos, bytes - span.bytes);
+        span.nanos = nanos;
+        span.bytes = bytes;
+    }
+
+    public void record(Phase phase, long nanos, long bytes) {
+        if (enabled) phases[phase.ordinal()].add(nanos, bytes);
+    }
+
+    /** 메서드 전체 비용을 METHOD 에 기록하고 가장 느린 메서드 목록을 갱신 */
+    public void recordMethod(String signature, Span start) {
+        long nanos = System.nanoTime() - start.nanos;
+        long bytes = allocatedBytes() - start.bytes;
+        record(Phase.METHOD, nanos, bytes);
+        if (!enabled) return;
+        synchronized (slowest) {
+            if (slowest.size() < SLOWEST) {
+                slowest.add(new MethodCost(signature, nanos, bytes));
+            } else if (slowest.peek().nanos() < nanos) {
+                slowest.poll();
+                slowest.add(new MethodCost(signature, nanos, bytes));
+            }
+        }
+    }
+
+    /** 느린 순서 */
+    public List<MethodCost> slowestMethods() {
+        List<MethodCost> list;
+        synchronized (slowest) {
+            list = new ArrayList<>(slowest);
+        }
+        list.sort(Comparator.comparingLong(MethodCost::nanos).reversed());
+        return list;
+    }
+
+    public void printSummary(PrintStream out) {
+        out.println("  - Phases    :      count   total ms     p50 ms     p99 ms     max ms   alloc MB");
+        for (Phase p : Phase.values()) {
+            Histogram h = phases[p.ordinal()];
+            synchronized (h) {
+                if (h.count == 0) continue;
+                out.printf("    %-10s %10d %10.1f %10.3f %10.3f %10.3f %10.1f%n", p, h.count, ms(h.totalNanos),
+                        ms(h.percentile(0.50)), ms(h.percentile(0.99)), ms(h.max), h.totalBytes / (1024.0 * 1024.0));
+            }
+        }
+        List<MethodCost> top = slowestMethods();
+        if (!top.isEmpty()) {
+            out.println("  - Slowest methods:");
+            for (MethodCost m : top) {
+                out.printf("    %10.1f ms %8.1f MB  %s%n", ms(m.nanos), m.bytes / (1024.0 * 1024.0), m.signature);
+            }
+        }
+    }
+
+    /** 기계 판독용 JSON: 단계별 count/total/p50/p99/max(ns), 할당 바이트, 가장 느린 메서드 */
+    public void write(Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (JsonGenerator gen = FACTORY.createGenerator(Files.newOutputStream(out), JsonEncoding.UTF8)) {
+            gen.useDefaultPrettyPrinter();
+            gen.writeStartObject();
+            gen.writeBooleanField("allocationSupported", THREADS != null);
+            gen.writeObjectFieldStart("phases");
+            for (Phase p : Phase.values()) {
+                Histogram h = phases[p.ordinal()];
+                synchronized (h) {
+                    gen.writeObjectFieldStart(p.name().toLowerCase());
+                    gen.writeNumberField("count", h.count);
+                    gen.writeNumberField("totalNanos", h.totalNanos);
+                    gen.writeNumberField("p50Nanos", h.percentile(0.50));
+                    gen.writeNumberField("p99Nanos", h.percentile(0.99));
+                    gen.writeNumberField("maxNanos", h.max);
+                    gen.writeNumberField("allocatedBytes", h.totalBytes);
+                    gen.writeEndObject();
+                }
+            }
+            gen.writeEndObject();
+            gen.writeArrayFieldStart("slowestMethods");
+            for (MethodCost m : slowestMethods()) {
+                gen.writeStartObject();
+                gen.writeStringField("method", m.signature);
+                gen.writeNumberField("nanos", m.nanos);
+                gen.writeNumberField("allocatedBytes", m.bytes);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** 현재 스레드가 지금까지 할당한 바이트 (지원하지 않는 JVM 이면 0) */
+    static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported()) {
+            if (!t.isThreadAllocatedMemoryEnabled()) t.setThreadAllocatedMemoryEnabled(true);
+            return t;
+        }
+        return null;
+    }
+
+    /**
+     * 로그-선형 히스토그램: 2 의 거듭제곱 구간을 8 등분 (상대 오차 12.5% 이내).
+     * 값 하나당 배열 증가 없이 기록하므로 메서드 수와 무관하게 크기가 고정된다.
+     */
+    private static final class Histogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB = 1 << SUB_BITS;
+
+        private final long[] buckets = new long[(64 - SUB_BITS) * SUB];
+        private long count;
+        private long totalNanos;
+        private long totalBytes;
+        private long max;
+
+        synchronized void add(long nanos, long bytes) {
+            long v = Math.max(0, nanos);
+            buckets[bucket(v)]++;
+            count++;
+            totalNanos += v;
+            totalBytes += Math.max(0, bytes);
+            if (v > max) max = v;
+        }
+
+        /** q 분위 값 (해당 구간의 상한, 최대값을 넘지 않음) */
+        long percentile(double q) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b];
+                if (seen >= rank) return Math.min(max, upperBound(b));
+            }
+            return max;
+        }
+
+        private static int bucket(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        private static long upperBound(int b) {
+            if (b < SUB) return b;
+            int exp = b / SUB + SUB_BITS - 1;
+            long lower = (long) (SUB + b % SUB) << (exp - SUB_BITS);
+            return lower + (1L << (exp - SUB_BITS)) - 1;
+        }
+    }
+}
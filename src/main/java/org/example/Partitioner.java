@@ -0,0 +1,121 @@
+package org.example;
+
+import org.apache.bcel.classfile.JavaClass;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 분할 분석용 클래스 분할. 애플리케이션 클래스를 최대 maxClasses 개씩 묶어,
+ * 각 묶음을 자신의 클래스만 엔트리포인트로 삼는 세션({@link WalaSession#focus})으로 분석할 수 있게 한다.
+ *
+ * PACKAGE: 패키지 단위로 묶는다 (패키지 이름 순).
+ * DEPS   : 상수 풀의 클래스 참조로 연결된 애플리케이션 클래스끼리(연결 요소, BFS 순서) 묶는다.
+ * 묶음 하나를 넘는 패키지/연결 요소는 입력 순서대로 잘라 나눈다.
+ */
+public final class Partitioner {
+
+    public enum Strategy { PACKAGE, DEPS }
+
+    public static final int DEFAULT_SIZE = 2000;
+
+    /** 분석할 파일과 그 내부 클래스 이름(엔트리포인트) */
+    public record Partition(List<Path> files, Set<String> classes) {}
+
+    private Partitioner() {}
+
+    public static List<Partition> partition(List<Path> files, Strategy strategy, int maxClasses) {
+        if (maxClasses < 1) throw new IllegalArgumentException("partition size must be positive: " + maxClasses);
+
+        // 1) 파일별 내부 클래스 이름과 참조 클래스. 읽을 수 없는 파일은 분석 단계에서 실패로 보고되도록 첫 묶음에 둔다
+        Map<String, List<Path>> fileOf = new LinkedHashMap<>();   // 같은 이름이 여러 jar 에 있으면 같은 묶음으로
+        Map<String, Set<String>> refs = new HashMap<>();
+        List<Path> unreadable = new ArrayList<>();
+        for (Path f : files) {
+            try {
+                JavaClass jc = BcelClassIntrospector.parse(Files.readAllBytes(f), f.toString());
+                String name = jc.getClassName().replace('.', '/');
+                fileOf.computeIfAbsent(name, k -> new ArrayList<>(1)).add(f);
+                if (strategy == Strategy.DEPS) refs.put(name, BcelClassIntrospector.referencedClasses(jc));
+            } catch (Exception e) {
+                unreadable.add(f);
+            }
+        }
+
+        // 2) 묶을 단위 (입력 순서 유지)
+        Collection<List<String>> groups = (strategy == Strategy.PACKAGE)
+                ? byPackage(fileOf.keySet())
+                : byDependency(fileOf.keySet(), refs);
+
+        // 3) 단위를 순서대로 채워 넣고, 넘치면 새 묶음
+        List<Partition> partitions = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        for (List<String> group : groups) {
+            if (!current.isEmpty() && current.size() + group.size() > maxClasses) {
+                partitions.add(toPartition(current, fileOf));
+                current = new ArrayList<>();
+            }
+            for (String name : group) {
+                current.add(name);
+                if (current.size() == maxClasses) {
+                    partitions.add(toPartition(current, fileOf));
+                    current = new ArrayList<>();
+                }
+            }
+        }
+        if (!current.isEmpty()) partitions.add(toPartition(current, fileOf));
+
+        if (!unreadable.isEmpty()) {
+            if (partitions.isEmpty()) partitions.add(new Partition(new ArrayList<>(), new HashSet<>()));
+            partitions.get(0).files().addAll(unreadable);
+        }
+        return partitions;
+    }
+
+    private static Partition toPartition(List<String> names, Map<String, List<Path>> fileOf) {
+        List<Path> files = new ArrayList<>(names.size());
+        for (String n : names) files.addAll(fileOf.get(n));
+        return new Partition(files, new HashSet<>(names));
+    }
+
+    private static Collection<List<String>> byPackage(Collection<String> names) {
+        Map<String, List<String>> packages = new TreeMap<>();
+        for (String n : names) {
+            int slash = n.lastIndexOf('/');
+            packages.computeIfAbsent(slash < 0 ? "" : n.substring(0, slash), k -> new ArrayList<>()).add(n);
+        }
+        return packages.values();
+    }
+
+    /**
+     * 애플리케이션 클래스 사이의 참조를 무방향으로 보고 연결 요소별로 묶는다.
+     * 요소 안은 BFS 순서라, 큰 요소를 잘라 나눌 때도 서로 가까운 클래스가 같은 묶음에 들어간다.
+     */
+    private static Collection<List<String>> byDependency(Collection<String> names, Map<String, Set<String>> refs) {
+        Map<String, List<String>> adjacent = new HashMap<>();
+        for (String n : names) adjacent.put(n, new ArrayList<>());
+        for (String n : names) {
+            for (String r : refs.get(n)) {
+                List<String> back = adjacent.get(r);
+                if (back == null || r.equals(n)) continue;      // 애플리케이션 밖 참조
+                adjacent.get(n).add(r);
+                back.add(n);
+            }
+        }
+        List<List<String>> components = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String start : names) {
+            if (!seen.add(start)) continue;
+            List<String> component = new ArrayList<>();
+            component.add(start);
+            for (int i = 0; i < component.size(); i++) {        // component 자체를 BFS 큐로 사용
+                for (String next : adjacent.get(component.get(i))) {
+                    if (seen.add(next)) component.add(next);
+                }
+            }
+            components.add(component);
+        }
+        return components;
+    }
+}
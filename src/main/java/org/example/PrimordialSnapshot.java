@@ -0,0 +1,343 @@
+package org.example;
+
+import com.ibm.wala.classLoader.Module;
+import com.ibm.wala.classLoader.ModuleEntry;
+import com.ibm.wala.util.config.StringFilter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * JDK 라이브러리(rt.jar, jce.jar ...)의 디스크 스냅샷.
+ * exclusions 적용 후 남은 클래스 바이트를 비압축 단일 파일(cache/primordial-&lt;jars&gt;-&lt;exclusions&gt;.bin)로 저장하고,
+ * 이후 실행(및 2차 세션)에서는 jar 압축 해제 없이 memory-map 으로 읽어 WALA Primordial 모듈로 제공한다.
+ * 저장하는 것은 클래스 바이트뿐이며 ClassHierarchy 자체는 아니다 (WALA 의 IClassHierarchy 는 직렬화할 수 없으므로
+ * CHA 는 매 실행 이 스냅샷에서 다시 만든다).
+ *
+ * 파일 이름의 jars 부분은 jar 경로/크기/수정시각으로 만들어 jar 를 읽지 않고 찾는다. 이름이 맞는 파일이 없을 때만
+ * jar 내용을 해싱해, 내용이 같은 이전 스냅샷(예: 수정시각만 바뀐 jar)이 있으면 이름을 바꿔 재사용한다.
+ * JDK 가 바뀐 스냅샷은 지우고, 같은 JDK 의 스냅샷은 exclusions 별로 최근에 쓴 {@value #KEEP_PER_JDK} 개만 남긴다.
+ *
+ * 파일 구조: MAGIC, VERSION, 내용 key(UTF), count, [name(UTF), offset, length] * count, 클래스 바이트 블롭
+ */
+public final class PrimordialSnapshot implements Module {
+
+    private static final int MAGIC = 0x42475053; // "BGPS"
+    private static final int VERSION = 2;
+    private static final Path CACHE_DIR = Paths.get("cache");
+    private static final String PREFIX = "primordial-";
+    private static final int KEEP_PER_JDK = 4;   // 1차 세션과 Healing 세션의 exclusions 가 서로 지우지 않도록 여유를 둔다
+
+    /** jar 경로 -> (크기, 수정시각, 해시). 같은 JVM 안에서 2차 세션이 jar 를 다시 해싱하지 않도록 */
+    private static final Map<String, String[]> JAR_HASHES = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final ByteBuffer data;   // 클래스 바이트 블롭 (읽기 전용 mmap)
+    private final String[] names;    // 내부 클래스 이름 (예: java/lang/Object)
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private PrimordialSnapshot(Path file, ByteBuffer data, String[] names, int[] offsets, int[] lengths) {
+        this.file = file;
+        this.data = data;
+        this.names = names;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /** 캐시에 스냅샷이 있으면 mmap 으로 열고, 없으면 jar 들로부터 생성한 뒤 연다 */
+    public static PrimordialSnapshot load(List<File> jars, StringFilter exclusions, String exclusionsText) throws IOException {
+        String jarsKey = jarsKey(jars);
+        String exclusionsKey = digest(exclusionsText);
+        Path snapshot = CACHE_DIR.resolve(PREFIX + jarsKey + "-" + exclusionsKey + ".bin");
+        PrimordialSnapshot s = null;
+        if (Files.exists(snapshot)) {
+            try {
+                s = open(snapshot);
+                touch(snapshot);
+                System.out.println(">>> [Session] Primordial snapshot hit: " + snapshot + " (" + s.names.length + " classes)");
+            } catch (IOException e) {
+                System.out.println(">>> [Session] Primordial snapshot unreadable, rebuilding: " + e.getMessage());
+            }
+        }
+        if (s == null) {
+            String contentKey = contentKey(jars, exclusionsText);
+            if (reuse(contentKey, exclusionsKey, snapshot)) {
+                try {
+                    s = open(snapshot);
+                    System.out.println(">>> [Session] Primordial snapshot reused for unchanged jars: " + snapshot
+                            + " (" + s.names.length + " classes)");
+                } catch (IOException e) {
+                    System.out.println(">>> [Session] Primordial snapshot unreadable, rebuilding: " + e.getMessage());
+                }
+            }
+            if (s == null) {
+                write(jars, exclusions, contentKey, snapshot);
+                s = open(snapshot);
+                System.out.println(">>> [Session] Primordial snapshot written: " + snapshot + " (" + s.names.length + " classes)");
+            }
+        }
+        prune(jarsKey, snapshot);
+        return s;
+    }
+
+    /**
+     * jar 의 경로/크기/수정시각이 달라 이름으로 찾지 못했을 때, 같은 exclusions 의 스냅샷 중 내용 key 가 같은 것을
+     * snapshot 이름으로 옮긴다 (다시 만들지 않음).
+     */
+    private static boolean reuse(String contentKey, String exclusionsKey, Path snapshot) {
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(CACHE_DIR, PREFIX + "*-" + exclusionsKey + ".bin")) {
+            for (Path p : ds) {
+                if (contentKey.equals(readContentKey(p))) {
+                    Files.move(p, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    touch(snapshot);
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            // 캐시 디렉토리가 없거나 옮길 수 없으면 새로 만든다
+        }
+        return false;
+    }
+
+    /** 헤더의 내용 key (읽을 수 없거나 이전 형식이면 null) */
+    private static String readContentKey(Path snapshot) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 512))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            return in.readUTF();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 다른 JDK(jar 경로/크기/수정시각)용 스냅샷과 이전 형식의 스냅샷을 지우고, 같은 JDK 의 스냅샷은 current 를 포함해
+     * 최근에 쓴 것부터 KEEP_PER_JDK 개만 남긴다. 다른 프로세스가 열고 있어 지울 수 없는 파일은 다음 실행에서 다시 시도한다.
+     */
+    private static void prune(String jarsKey, Path current) {
+        List<Path> sameJdk = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(CACHE_DIR, PREFIX + "*.bin")) {
+            for (Path p : ds) {
+                if (p.getFileName().equals(current.getFileName())) continue;
+                if (p.getFileName().toString().startsWith(PREFIX + jarsKey + "-")) sameJdk.add(p);
+                else delete(p);
+            }
+        } catch (IOException e) {
+            return;
+        }
+        Map<Path, Long> used = new HashMap<>();
+        for (Path p : sameJdk) {
+            try {
+                used.put(p, Files.getLastModifiedTime(p).toMillis());
+            } catch (IOException e) {
+                used.put(p, 0L);
+            }
+        }
+        sameJdk.sort(Comparator.comparing((Path p) -> used.get(p)).reversed());
+        for (int i = KEEP_PER_JDK - 1; i < sameJdk.size(); i++) delete(sameJdk.get(i));
+    }
+
+    private static void delete(Path stale) {
+        try {
+            if (Files.deleteIfExists(stale)) System.out.println(">>> [Session] Removed stale primordial snapshot: " + stale);
+        } catch (IOException e) {
+            // 사용 중 (예: Windows 에서 다른 프로세스가 map 한 파일)
+        }
+    }
+
+    /** 최근 사용 시각 (prune 에서 남길 스냅샷을 고르는 기준) */
+    private static void touch(Path snapshot) {
+        try {
+            Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignore) {}
+    }
+
+    private static PrimordialSnapshot open(Path snapshot) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel ch = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        DataInputStream in = new DataInputStream(new BufferInputStream(mapped.duplicate()));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("bad snapshot header");
+        in.readUTF();   // 내용 key (reuse 에서만 사용)
+        int count = in.readInt();
+        String[] names = new String[count];
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = in.readUTF();
+            offsets[i] = in.readInt();
+            lengths[i] = in.readInt();
+        }
+        int dataStart = mapped.capacity() - in.available();
+        ByteBuffer data = mapped.duplicate().position(dataStart).slice();
+        if (count > 0 && (long) offsets[count - 1] + lengths[count - 1] > data.capacity()) {
+            throw new IOException("truncated snapshot");
+        }
+        return new PrimordialSnapshot(snapshot, data, names, offsets, lengths);
+    }
+
+    /** jar 순서대로 읽어 (중복 클래스는 먼저 나온 것만) exclusions 에 걸리지 않는 클래스를 기록 */
+    private static void write(List<File> jars, StringFilter exclusions, String contentKey, Path snapshot) throws IOException {
+        Files.createDirectories(CACHE_DIR);
+        Path blob = Files.createTempFile(CACHE_DIR, "primordial", ".data");
+        Path tmp = Files.createTempFile(CACHE_DIR, "primordial", ".tmp");
+        try {
+            List<String> names = new ArrayList<>();
+            List<int[]> ranges = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            int offset = 0;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(blob))) {
+                for (File jar : jars) {
+                    try (JarFile jf = new JarFile(jar)) {
+                        for (Enumeration<JarEntry> en = jf.entries(); en.hasMoreElements(); ) {
+                            JarEntry e = en.nextElement();
+                            String entryName = e.getName();
+                            if (e.isDirectory() || !entryName.endsWith(".class")) continue;
+                            String className = entryName.substring(0, entryName.length() - 6);
+                            if (exclusions != null && exclusions.test(className)) continue;
+                            if (!seen.add(className)) continue;
+                            byte[] bytes;
+                            try (InputStream is = jf.getInputStream(e)) {
+                                bytes = is.readAllBytes();
+                            }
+                            out.write(bytes);
+                            names.add(className);
+                            ranges.add(new int[]{offset, bytes.length});
+                            offset = Math.addExact(offset, bytes.length);
+                        }
+                    }
+                }
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(contentKey);
+                out.writeInt(names.size());
+                for (int i = 0; i < names.size(); i++) {
+                    out.writeUTF(names.get(i));
+                    out.writeInt(ranges.get(i)[0]);
+                    out.writeInt(ranges.get(i)[1]);
+                }
+                Files.copy(blob, out);
+            }
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(blob);
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** jar 를 읽지 않는 key: 경로, 크기, 수정시각 */
+    private static String jarsKey(List<File> jars) {
+        StringBuilder sb = new StringBuilder();
+        for (File jar : jars) {
+            sb.append(jar.getAbsolutePath()).append('\0').append(jar.length()).append('\0').append(jar.lastModified()).append('\n');
+        }
+        return digest(sb.toString());
+    }
+
+    /** jar 내용 SHA-256 + 유효 exclusions 텍스트 */
+    private static String contentKey(List<File> jars, String exclusionsText) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (File jar : jars) sb.append(jarHash(jar)).append('\n');
+        sb.append('\0').append(exclusionsText).append('\0').append(VERSION);
+        return HexFormat.of().formatHex(sha256().digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** 파일 이름용 짧은 key */
+    private static String digest(String text) {
+        return HexFormat.of().formatHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)), 0, 8);
+    }
+
+    private static String jarHash(File jar) throws IOException {
+        String path = jar.getAbsolutePath();
+        String size = Long.toString(jar.length());
+        String mtime = Long.toString(jar.lastModified());
+        String[] known = JAR_HASHES.get(path);
+        if (known != null && known[0].equals(size) && known[1].equals(mtime)) return known[2];
+
+        MessageDigest md = sha256();
+        try (InputStream in = new DigestInputStream(new BufferedInputStream(new FileInputStream(jar)), md)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = HexFormat.of().formatHex(md.digest());
+        JAR_HASHES.put(path, new String[]{size, mtime, hash});
+        return hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Iterator<? extends ModuleEntry> getEntries() {
+        List<ModuleEntry> entries = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) entries.add(new Entry(i));
+        return entries.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "PrimordialSnapshot:" + file;
+    }
+
+    /** 스냅샷 안의 클래스 하나 */
+    private final class Entry implements ModuleEntry {
+        private final int index;
+
+        Entry(int index) { this.index = index; }
+
+        @Override public String getName() { return names[index] + ".class"; }
+        @Override public boolean isClassFile() { return true; }
+        @Override public boolean isSourceFile() { return false; }
+        @Override public boolean isModuleFile() { return false; }
+        @Override public Module asModule() { throw new UnsupportedOperationException("not a module: " + getName()); }
+        @Override public String getClassName() { return names[index]; }
+        @Override public Module getContainer() { return PrimordialSnapshot.this; }
+
+        @Override
+        public InputStream getInputStream() {
+            return new BufferInputStream(data.slice(offsets[index], lengths[index]));
+        }
+
+        @Override public String toString() { return getName() + " in " + PrimordialSnapshot.this; }
+    }
+
+    /** ByteBuffer 를 복사 없이 읽는 InputStream */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        BufferInputStream(ByteBuffer buf) { this.buf = buf; }
+
+        @Override public int read() { return buf.hasRemaining() ? buf.get() & 0xFF : -1; }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override public int available() { return buf.remaining(); }
+    }
+}
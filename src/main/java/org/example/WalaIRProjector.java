@@ -8,8 +8,6 @@ import com.ibm.wala.ipa.callgraph.*;
 import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
 import com.ibm.wala.ipa.slicer.*;
 import com.ibm.wala.ssa.*;
-import com.ibm.wala.types.ClassLoaderReference;
-import com.ibm.wala.types.TypeReference;
 
 import java.util.*;
 
@@ -17,15 +15,15 @@ import java.util.*;
  * Builds WALA IR/CFG and projects dependence results to bytecode offsets.
  * DFG: SSA DefUse (flow)
  * DDG: FULL (flow + anti + output) via PDG
- * CDG: formal control dependence via post-dominators (Ferrante 1987)
+ * CDG: Ferrante-style control dependence over forward dominators rooted at exit (see buildCDG)
  */
 public class WalaIRProjector {
 
     /** result container */
     public static class Flow {
-        public final Map<Integer, Set<Integer>> dfg = new LinkedHashMap<>();
-        public final Map<Integer, Set<Integer>> ddg = new LinkedHashMap<>();
-        public final Map<Integer, Set<Integer>> cdg = new LinkedHashMap<>();
+        public IntGraph dfg = IntGraph.EMPTY;
+        public IntGraph ddg = IntGraph.EMPTY;
+        public IntGraph cdg = IntGraph.EMPTY;
     }
 
     /** simple pair of target class & method */
@@ -40,72 +38,85 @@ public class WalaIRProjector {
     /** main entry: orchestrates all steps */
     public Flow analyze(WalaSession session, String internalClassName, String methodName, String methodDesc,
                         BcelBytecodeCFG.Graph instrCFG, String ddgOption) throws Exception {
+        return analyze(session, internalClassName, methodName, methodDesc, instrCFG, ddgOption, Metrics.DISABLED);
+    }
 
-        // 1) Target 메서드 찾기
-        String walaInternal = "L" + internalClassName;
-        IClass clazz = session.cha.lookupClass(TypeReference.findOrCreate(com.ibm.wala.types.ClassLoaderReference.Application, walaInternal));
+    /** same as above, recording IR/DFG/CDG/DDG time and allocation into metrics */
+    public Flow analyze(WalaSession session, String internalClassName, String methodName, String methodDesc,
+                        BcelBytecodeCFG.Graph instrCFG, String ddgOption, Metrics metrics) throws Exception {
+        Metrics.Span span = metrics.start();
+        JfrEvents.MethodAnalyze event = new JfrEvents.MethodAnalyze();
+        event.begin();
 
+        // 1) Target 메서드 찾기 (이름 + 디스크립터가 정확히 일치하는 선언 메서드)
+        IClass clazz = session.applicationClass(internalClassName);
         if (clazz == null) {
-            throw new IllegalArgumentException("Class not found: " + walaInternal);
-        }
-
-        IMethod targetMethod = null;
-        // 1차 시도: 이름과 시그니처가 모두 일치하는지 확인
-        for (IMethod m : clazz.getDeclaredMethods()) {
-            if (m.getName().toString().equals(methodName) && m.getSignature().contains(methodDesc)) {
-                targetMethod = m;
-                break;
-            }
-        }
-
-        // 2차 시도: 1차에서 실패 시 이름만으로 매칭 (시그니처 미세 불일치 대비)
-        if (targetMethod == null) {
-            for (IMethod m : clazz.getDeclaredMethods()) {
-                if (m.getName().toString().equals(methodName)) {
-                    targetMethod = m;
-                    break;
-                }
-            }
+            throw new IllegalArgumentException("Class not found: L" + internalClassName);
         }
+        IMethod targetMethod = session.declaredMethod(clazz, methodName, methodDesc);
 
         if (targetMethod == null) {
-            throw new IllegalArgumentException("Method not found: " + methodName);
+            throw new IllegalArgumentException("Method not found: " + methodName + methodDesc);
         } else if (targetMethod.isAbstract()) { // interface
             return null;
         }
 
-        // 2) IR 및 매핑 구축
-        IR ir = session.cache.getIRFactory().makeIR(targetMethod, com.ibm.wala.ipa.callgraph.impl.Everywhere.EVERYWHERE, SSAOptions.defaultOptions());
+        // 2) IR 및 매핑 구축 (세션 캐시: 재분석이나 PDG 구축 시 IR 을 다시 만들지 않음)
+        IR ir = session.irFor(targetMethod);
         if (ir == null) throw new IllegalArgumentException("Cannot generate IR for: " + methodName);
-        Flow flow = new Flow();
-        initFlow(instrCFG, flow);
+        metrics.record(Metrics.Phase.IR, span);
+        IntGraph.Builder dfg = initFlow(instrCFG);
+        IntGraph.Builder ddg = initFlow(instrCFG);
+        IntGraph.Builder cdg = initFlow(instrCFG);
 
         // BCEL에서 추출된 물리적 DFG 엣지들을 최종 결과에 병합
-        instrCFG.dfgEdges.forEach((src, dsts) -> {
-            flow.dfg.computeIfAbsent(src, k -> new LinkedHashSet<>()).addAll(dsts);
-        });
+        dfg.addAll(instrCFG.dfgEdges);
 
         // 3) DFG/DDG/CDG 생성
         Map<Integer, Integer> irIndexToOffset = buildIRIndexToOffset(ir);
-        buildDFG(ir, irIndexToOffset, flow);
-        buildCDG(ir, ir.getControlFlowGraph(), irIndexToOffset, flow);
+        buildDFG(ir, session.defUseFor(ir), irIndexToOffset, dfg);
+        metrics.record(Metrics.Phase.DFG, span);
+        buildCDG(ir, ir.getControlFlowGraph(), irIndexToOffset, cdg);
+        metrics.record(Metrics.Phase.CDG, span);
 
         if (!"NO_DDG".equals(ddgOption)) {
-            buildDDG(session, targetMethod, ir, irIndexToOffset, flow);
+            session.ensureModRef();   // call graph is recorded as CALL_GRAPH, not DDG
+            span = metrics.start();
+            JfrEvents.DDGBuild ddgEvent = new JfrEvents.DDGBuild();
+            ddgEvent.begin();
+            buildDDG(session, targetMethod, ir, irIndexToOffset, ddg);
+            metrics.record(Metrics.Phase.DDG, span);
+            ddgEvent.end();
+            if (ddgEvent.shouldCommit()) {
+                ddgEvent.method = internalClassName.replace('/', '.') + "." + methodName + methodDesc;
+                ddgEvent.instructions = instrCFG.nodes.size();
+                ddgEvent.pdgEdges = ddg.edgeCount();
+                ddgEvent.commit();
+            }
         }
 
-        flow.dfg.forEach((src, dsts) -> {
-            flow.ddg.computeIfAbsent(src, k -> new LinkedHashSet<>()).addAll(dsts);
-        });
-
+        Flow flow = new Flow();
+        flow.dfg = dfg.build();
+        flow.ddg = ddg.addAll(flow.dfg).build();
+        flow.cdg = cdg.build();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = internalClassName.replace('/', '.') + "." + methodName + methodDesc;
+            event.ddgOption = ddgOption;
+            event.instructions = instrCFG.nodes.size();
+            event.dfgEdges = flow.dfg.edgeCount();
+            event.cdgEdges = flow.cdg.edgeCount();
+            event.ddgEdges = flow.ddg.edgeCount();
+            event.commit();
+        }
         return flow;
     }
 
 
 
     /** DFG via SSA DefUse: defOff -> useOff */
-    private void buildDFG(IR ir, Map<Integer, Integer> mapping, Flow flow) {
-        DefUse du = new DefUse(ir);
+    void buildDFG(IR ir, DefUse du, Map<Integer, Integer> mapping, IntGraph.Builder dfg) {
         SSAInstruction[] ins = ir.getInstructions();
 
         // IR의 모든 명령어를 순회하며 데이터 흐름 추적
@@ -125,7 +136,7 @@ public class WalaIRProjector {
                 if (def != null) {
                     Integer defOff = mapping.get(def.iIndex());
                     if (defOff != null) {
-                        flow.dfg.computeIfAbsent(defOff, k -> new LinkedHashSet<>()).add(useOff);
+                        dfg.addEdge(defOff, useOff);
                     }
                 }
             }
@@ -137,26 +148,20 @@ public class WalaIRProjector {
      * Builds a simple Zero-CFA CallGraph & PointerAnalysis, then constructs an intraprocedural PDG
      * and projects DATA dependences to bytecode offsets.
      */
-    private void buildDDG(WalaSession session, IMethod targetMethod, IR ir, Map<Integer, Integer> irIndexToOffset, Flow flow) throws Exception {
+    void buildDDG(WalaSession session, IMethod targetMethod, IR ir, Map<Integer, Integer> irIndexToOffset, IntGraph.Builder ddg) throws Exception {
 
         // 1. 현재 분석 대상 노드 찾기
-        CGNode node = null;
-        for (CGNode n : session.cg) {
-            if (n.getMethod().equals(targetMethod)) { node = n; break; }
-        }
+        CGNode node = session.nodeFor(targetMethod);
         if (node == null) return;
 
-        // 2. 현재 노드에 대한 Mod/Ref 계산
-        if (session.modCache == null || session.modCache.isEmpty()) {
-            session.modCache = session.modRef.computeMod(session.cg, session.pa);
-            session.refCache = session.modRef.computeRef(session.cg, session.pa);
-        }
+        // 2. 현재 노드에서 도달 가능한 부분에 대해서만 Mod/Ref 계산 (PDG 가 조회할 때)
+        LazyModRef.Slice modRef = session.modRefFor(node);
 
         // 3. PDG 생성
-        PDG<InstanceKey> pdg = new PDG<>(node, session.pa,
-                session.modCache, session.refCache,
+        PDG<InstanceKey> pdg = new PDG<>(node, session.pointerAnalysis(),
+                modRef.mod, modRef.ref,
                 Slicer.DataDependenceOptions.FULL, Slicer.ControlDependenceOptions.NONE,
-                null, session.cg, session.modRef);
+                null, session.callGraph(), session.modRef);
 
         // 4. edge mapping
         // 1) 캐시 생성
@@ -172,20 +177,26 @@ public class WalaIRProjector {
                 // 3) 목적지 오프셋 캐시 활용
                 Integer dstOff = stmtCache.computeIfAbsent(t, k -> statementToOffset(k, irIndexToOffset));
                 if (dstOff != null) {
-                    flow.ddg.computeIfAbsent(srcOff, k -> new LinkedHashSet<>()).add(dstOff);
+                    ddg.addEdge(srcOff, dstOff);
                 }
             }
         }
     }
 
     /* =========================
-     *  FORMAL CDG via post-dominators (Ferrante 1987)
-     *  method name kept short: computeCDG(...)
+     *  CDG, Ferrante (1987) style
+     *  Dominators.make(ssaCfg, ssaCfg.exit()) computes FORWARD dominators of the
+     *  CFG with exit as root (it does not reverse the edges), so this is not a true
+     *  post-dominator tree. The behavior is kept on purpose so that emitted edges
+     *  stay identical to earlier releases.
+     *  For each CFG edge X->V, walk that tree from V up to (excluding) the first
+     *  ancestor of X: O(E * depth) instead of O(E * |blocks|).
      * ========================= */
 
-    private void buildCDG(IR ir, SSACFG ssaCfg, Map<Integer, Integer> irIndexToOffset, Flow flow) {
-        // 1. Post-Dominator 계산: CFG와 Exit 블록을 넘겨 역방향 도미네이터 계산
-        com.ibm.wala.util.graph.dominators.Dominators<ISSABasicBlock> postdoms =
+    void buildCDG(IR ir, SSACFG ssaCfg, Map<Integer, Integer> irIndexToOffset, IntGraph.Builder cdg) {
+        // 1. Exit 블록을 루트로 한 (순방향) 도미네이터 트리. 역방향 CFG 가 아니므로 엄밀한 post-dominator 가 아님,
+        //    기존 출력과 같은 에지를 내기 위해 그대로 둔다
+        com.ibm.wala.util.graph.dominators.Dominators<ISSABasicBlock> doms =
                 com.ibm.wala.util.graph.dominators.Dominators.make(ssaCfg, ssaCfg.exit());
 
         // 2. CFG 내 모든 블록을 순회하며 제어 분기점(Control Site) 탐색
@@ -195,18 +206,27 @@ public class WalaIRProjector {
             Integer xSrcOff = irIndexToOffset.get(xLastIdx);
             if (xSrcOff == null) continue;
 
+            // 위 트리에서 X 의 조상(자신 포함)
+            Set<ISSABasicBlock> xAncestors = null;
+
             // 3. 분기점 X의 각 후속 노드 V에 대하여 의존성 전파
             for (Iterator<ISSABasicBlock> it = ssaCfg.getSuccNodes(x); it.hasNext();) {
                 ISSABasicBlock v = it.next();
+                if (xAncestors == null) xAncestors = ancestorsOf(doms, x);
 
-                // 4. Y가 V의 도미네이터이지만 X의 도미네이터는 아닌 블록들 탐색
-                for (ISSABasicBlock y : ssaCfg) {
-                    if (postdoms.isDominatedBy(v, y) && !postdoms.isDominatedBy(x, y)) {
-                        for (int i = y.getFirstInstructionIndex(); i <= y.getLastInstructionIndex(); i++) {
-                            Integer yDstOff = irIndexToOffset.get(i);
-                            if (yDstOff != null) {
-                                flow.cdg.computeIfAbsent(xSrcOff, k -> new LinkedHashSet<>()).add(yDstOff);
-                            }
+                // 4. 트리에서 V 의 조상이지만 X 의 조상은 아닌 블록들:
+                //    V 에서 트리를 따라 올라가며 X 의 조상을 만나기 전까지의 블록 (블록 번호 순으로 출력)
+                List<ISSABasicBlock> deps = new ArrayList<>();
+                for (ISSABasicBlock y = v; y != null && !xAncestors.contains(y); y = doms.getIdom(y)) {
+                    deps.add(y);
+                }
+                deps.sort(Comparator.comparingInt(ISSABasicBlock::getNumber));
+
+                for (ISSABasicBlock y : deps) {
+                    for (int i = y.getFirstInstructionIndex(); i <= y.getLastInstructionIndex(); i++) {
+                        Integer yDstOff = irIndexToOffset.get(i);
+                        if (yDstOff != null) {
+                            cdg.addEdge(xSrcOff, yDstOff);
                         }
                     }
                 }
@@ -214,16 +234,22 @@ public class WalaIRProjector {
         }
     }
 
-    /** init flow maps for all known offsets from BCEL graph */
-    private void initFlow(BcelBytecodeCFG.Graph g, Flow f) {
-        for (Integer off : g.nodes.keySet()) {
-            f.dfg.put(off, new LinkedHashSet<>());
-            f.ddg.put(off, new LinkedHashSet<>());
-            f.cdg.put(off, new LinkedHashSet<>());
-        }
+    /** exit 루트 도미네이터 트리상의 node 와 그 모든 조상 */
+    private static Set<ISSABasicBlock> ancestorsOf(
+            com.ibm.wala.util.graph.dominators.Dominators<ISSABasicBlock> doms, ISSABasicBlock node) {
+        Set<ISSABasicBlock> result = new HashSet<>();
+        for (ISSABasicBlock p = node; p != null; p = doms.getIdom(p)) result.add(p);
+        return result;
     }
 
-    private Map<Integer, Integer> buildIRIndexToOffset(IR ir) {
+    /** init a flow builder with all known offsets from BCEL graph */
+    IntGraph.Builder initFlow(BcelBytecodeCFG.Graph g) {
+        IntGraph.Builder b = new IntGraph.Builder(g.nodes.size());
+        for (int off : g.nodes.keySet()) b.addNode(off);
+        return b;
+    }
+
+    Map<Integer, Integer> buildIRIndexToOffset(IR ir) {
         Map<Integer, Integer> map = new HashMap<>();
         if (ir.getMethod() instanceof IBytecodeMethod bm) {
             SSAInstruction[] ins = ir.getInstructions();
@@ -247,29 +273,18 @@ public class WalaIRProjector {
 
     public boolean isInterfaceClass(WalaSession session, String internalClassName) {
         try {
-            IClass clazz = getClassFromSession(session, internalClassName);
+            IClass clazz = session.applicationClass(internalClassName);
             return clazz != null && clazz.isInterface();
         } catch (Exception e) { return false; }
     }
 
     public boolean isAbstractMethod(WalaSession session, String internalClassName, String methodName, String methodDesc) {
         try {
-            IClass clazz = getClassFromSession(session, internalClassName);
+            IClass clazz = session.applicationClass(internalClassName);
             if (clazz == null) return false;
-
-            for (IMethod m : clazz.getDeclaredMethods()) {
-                // Selector를 이용해 이름과 파라미터 타입이 일치하는지 더 정확히 확인
-                if (m.getName().toString().equals(methodName)) {
-                    return m.isAbstract();
-                }
-            }
+            IMethod m = session.declaredMethod(clazz, methodName, methodDesc);
+            return m != null && m.isAbstract();
         } catch (Exception e) { return false; }
-        return false;
-    }
-
-    private IClass getClassFromSession(WalaSession session, String internalClassName) {
-        String walaInternal = internalClassName.startsWith("L") ? internalClassName : "L" + internalClassName;
-        return session.cha.lookupClass(TypeReference.findOrCreate(ClassLoaderReference.Application, walaInternal));
     }
 
 }
@@ -1,45 +1,314 @@
 
 package org.example;
 
+import com.ibm.wala.classLoader.IClass;
+import com.ibm.wala.classLoader.IMethod;
 import com.ibm.wala.classLoader.Language;
+import com.ibm.wala.classLoader.Module;
 import com.ibm.wala.ipa.callgraph.*;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
 import com.ibm.wala.ipa.callgraph.impl.Util;
 import com.ibm.wala.ipa.callgraph.propagation.InstanceKey;
 import com.ibm.wala.ipa.callgraph.propagation.PointerAnalysis;
-import com.ibm.wala.ipa.callgraph.propagation.PointerKey;
 import com.ibm.wala.ipa.cha.IClassHierarchy;
 import com.ibm.wala.ipa.modref.ModRef;
+import com.ibm.wala.ssa.DefUse;
+import com.ibm.wala.ssa.DefaultIRFactory;
+import com.ibm.wala.ssa.IR;
+import com.ibm.wala.ssa.SSAOptions;
 import com.ibm.wala.types.ClassLoaderReference;
+import com.ibm.wala.types.Selector;
+import com.ibm.wala.types.TypeReference;
 import com.ibm.wala.util.MonitorUtil;
-import com.ibm.wala.util.intset.OrdinalSet;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WalaSession {
 
     public final AnalysisScope scope;
     public final IClassHierarchy cha;
-    public final AnalysisCache cache;
-    public final CallGraph cg;
-    public final PointerAnalysis<InstanceKey> pa;
+    public final AnalysisCache cache;                                        // 저장소는 irCache (CallGraph builder 와 공유)
+    public final IRCache irCache;
     public final com.ibm.wala.ipa.modref.ModRef<com.ibm.wala.ipa.callgraph.propagation.InstanceKey> modRef;
-    public Map<CGNode, OrdinalSet<PointerKey>> modCache = new HashMap<>();
-    public Map<CGNode, OrdinalSet<PointerKey>> refCache = new HashMap<>();
+    private final Set<IMethod> methodsWithoutNode = ConcurrentHashMap.newKeySet();
+    private final Map<IClass, Map<Selector, IMethod>> declaredMethods = new ConcurrentHashMap<>(); // 클래스 최초 조회 시 구축
+    private final Set<String> focusClasses;                                  // null 이면 전체 애플리케이션이 엔트리포인트
+    private final boolean healing;                                           // heal() 로 만든 2차 세션 (JFR 기록용)
 
+    // Tier 2: 최초 DDG 요청 시에만 구축 (NO_DDG 실행에서는 만들지 않음)
+    private volatile CallGraph cg;
+    private volatile PointerAnalysis<InstanceKey> pa;
+    private volatile Map<IMethod, List<CGNode>> nodesByMethod;                 // makeCallGraph 직후 1회 구축
+    private volatile Throwable cgFailure;                                      // 구축 실패 시 이후 요청에 그대로 다시 던짐
 
-    private WalaSession(AnalysisScope scope, IClassHierarchy cha, AnalysisCache cache,
-                        CallGraph cg, PointerAnalysis pa, ModRef modRef) {
-        this.scope = scope; this.cha = cha; this.cache = cache;
-        this.cg = cg; this.pa = pa;
+    // Tier 3: PDG 가 요청한 노드에서 도달 가능한 부분에 대해서만 지연 계산
+    private volatile LazyModRef lazyModRef;
+
+    private volatile Metrics metrics = Metrics.DISABLED;
+    private long[] pendingChaCost;                                             // {nanos, bytes}, 첫 setMetrics 에서 보고
+
+
+    private WalaSession(AnalysisScope scope, IClassHierarchy cha, IRCache irCache, ModRef modRef,
+                        Set<String> focusClasses, boolean healing, long[] chaCost) {
+        this.scope = scope; this.cha = cha;
+        this.irCache = irCache;
+        this.cache = irCache.analysisCache(new DefaultIRFactory());
         this.modRef = modRef;
+        this.focusClasses = focusClasses;
+        this.healing = healing;
+        this.pendingChaCost = chaCost;
+    }
+
+    /** 이후 구축되는 tier 를 기록할 대상. 이미 만들어진 CHA 비용은 처음 설정될 때 한 번 보고한다 */
+    public synchronized void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+        if (pendingChaCost != null) {
+            metrics.record(Metrics.Phase.CHA, pendingChaCost[0], pendingChaCost[1]);
+            pendingChaCost = null;
+        }
+    }
+
+    /** Tier 2: 0-CFA CallGraph (최초 호출 시 구축) */
+    public CallGraph callGraph() throws CallGraphBuilderCancelException {
+        ensureCallGraph();
+        return cg;
+    }
+
+    /** Tier 2: CallGraph 와 함께 구축되는 PointerAnalysis */
+    public PointerAnalysis<InstanceKey> pointerAnalysis() throws CallGraphBuilderCancelException {
+        ensureCallGraph();
+        return pa;
+    }
+
+    /** 애플리케이션 클래스 (내부 이름, 예: "a/b/C"). 없으면 null */
+    public IClass applicationClass(String internalClassName) {
+        String walaInternal = internalClassName.startsWith("L") ? internalClassName : "L" + internalClassName;
+        return cha.lookupClass(TypeReference.findOrCreate(ClassLoaderReference.Application, walaInternal));
+    }
+
+    /** clazz 가 선언한 메서드 중 이름과 디스크립터(예: "(I)V")가 정확히 일치하는 것. 없으면 null */
+    public IMethod declaredMethod(IClass clazz, String methodName, String methodDesc) {
+        Map<Selector, IMethod> index = declaredMethods.computeIfAbsent(clazz, c -> {
+            Map<Selector, IMethod> m = new HashMap<>();
+            for (IMethod method : c.getDeclaredMethods()) m.put(method.getSelector(), method);
+            return m;
+        });
+        return index.get(Selector.make(methodName + methodDesc));
+    }
+
+    /** 메서드의 IR (Everywhere, 기본 SSAOptions). CallGraph/PDG 와 같은 캐시 항목을 공유한다 */
+    public IR irFor(IMethod method) {
+        return irCache.ir(cache.getIRFactory(), method, Everywhere.EVERYWHERE, SSAOptions.defaultOptions());
+    }
+
+    /** IR 의 DefUse (캐시됨) */
+    public DefUse defUseFor(IR ir) {
+        return irCache.defUse(ir, Everywhere.EVERYWHERE);
+    }
+
+    /** CallGraph 가 이미 구축되었는지 여부 */
+    public boolean hasCallGraph() {
+        return cg != null;
+    }
+
+    /**
+     * CallGraph 를 한 번만 구축한다. 구축이 실패하면 그 예외를 기억해 두고 이후 요청마다 다시 던지므로
+     * 실패한 전체 프로그램 분석을 메서드마다 반복하지 않는다 (Healing 은 새 세션에서 다시 시도).
+     */
+    private void ensureCallGraph() throws CallGraphBuilderCancelException {
+        if (cg != null) return;
+        synchronized (this) {
+            if (cg != null) return;
+            if (cgFailure != null) rethrow(cgFailure);
+            try {
+                buildCallGraph();
+            } catch (CallGraphBuilderCancelException | RuntimeException | Error e) {
+                cgFailure = e;
+                throw e;
+            }
+        }
+    }
+
+    private static void rethrow(Throwable t) throws CallGraphBuilderCancelException {
+        if (t instanceof CallGraphBuilderCancelException c) throw c;
+        if (t instanceof RuntimeException r) throw r;
+        throw (Error) t;
+    }
+
+    /** Tier 2 구축 본체 (ensureCallGraph 의 잠금 안에서 호출) */
+    private void buildCallGraph() throws CallGraphBuilderCancelException {
+        long t0 = System.nanoTime();
+        long heap0 = usedHeap();
+        Metrics.Span span = metrics.start();
+        JfrEvents.SessionInit event = new JfrEvents.SessionInit();
+        event.begin();
+
+        // 4) Entrypoints 및 분석 옵션 설정
+        Iterable<Entrypoint> eps = (focusClasses == null)
+                ? new com.ibm.wala.ipa.callgraph.impl.AllApplicationEntrypoints(scope, cha)
+                : new com.ibm.wala.ipa.callgraph.impl.AllApplicationEntrypoints(scope, cha,
+                        k -> scope.isApplicationLoader(k.getClassLoader())
+                                && focusClasses.contains(k.getName().toString().substring(1)));
+        AnalysisOptions options = new AnalysisOptions(scope, eps);
+        // Reflection 설정은 유지하기로 하였으므로 기본값(또는 명시적 설정)을 사용합니다.
+
+        // 5) CallGraph 및 PointerAnalysis 생성
+        CallGraphBuilder<InstanceKey> builder =
+                Util.makeZeroCFABuilder(Language.JAVA, options, cache, cha);
+        CallGraph graph = builder.makeCallGraph(options, (MonitorUtil.IProgressMonitor) null);
+        pa = builder.getPointerAnalysis();
+        nodesByMethod = indexNodes(graph);
+        cg = graph;
+        metrics.record(Metrics.Phase.CALL_GRAPH, span);
+        commitTier(event, "CALL_GRAPH");
+        logTier("CallGraph + PointerAnalysis (" + graph.getNumberOfNodes() + " nodes, "
+                + nodesByMethod.size() + " methods)", t0, heap0);
+    }
+
+    /** IMethod -> CGNode 목록 인덱스 (call graph 순회 순서 유지) */
+    private static Map<IMethod, List<CGNode>> indexNodes(CallGraph cg) {
+        Map<IMethod, List<CGNode>> index = new HashMap<>();
+        for (CGNode n : cg) {
+            index.computeIfAbsent(n.getMethod(), k -> new ArrayList<>(1)).add(n);
+        }
+        return index;
+    }
+
+    /** 메서드의 모든 CGNode (없으면 빈 목록) */
+    public List<CGNode> nodesFor(IMethod method) throws CallGraphBuilderCancelException {
+        ensureCallGraph();
+        List<CGNode> nodes = nodesByMethod.get(method);
+        if (nodes == null) {
+            methodsWithoutNode.add(method);
+            return Collections.emptyList();
+        }
+        return nodes;
+    }
+
+    /** 메서드의 첫 번째 CGNode (call graph 에 없으면 null) */
+    public CGNode nodeFor(IMethod method) throws CallGraphBuilderCancelException {
+        List<CGNode> nodes = nodesFor(method);
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    /** 지금까지 조회된 메서드 중 call graph 에 노드가 없던 메서드 수 */
+    public int methodsWithoutNodeCount() {
+        return methodsWithoutNode.size();
+    }
+
+    /** 클래스패스(디렉토리/jar/zip, File.pathSeparator 구분)로 세션을 1회 초기화 */
+    public static WalaSession init(String classpath, Set<String> unblockPatterns, List<String> extraLibPaths) throws Exception {
+        return init(classpath, unblockPatterns, extraLibPaths, IRCache.DEFAULT_CAPACITY);
+    }
+
+    /** irCacheCapacity: 세션이 보관할 IR(및 DefUse) 최대 개수 */
+    public static WalaSession init(String classpath, Set<String> unblockPatterns, List<String> extraLibPaths,
+                                   int irCacheCapacity) throws Exception {
+        return init(classpath, unblockPatterns, extraLibPaths, irCacheCapacity, null);
     }
 
-    /** 루트(classpath root)로 세션을 1회 초기화 */
-    public static WalaSession init(String classpathRoot, Set<String> unblockPatterns, List<String> extraLibPaths) throws Exception {
+    /**
+     * focusClasses(내부 이름)만 엔트리포인트로 삼는 세션을 바로 만든다. init(...).focus(...) 와 같지만
+     * 쓰지 않을 기본 세션(과 그 IR 캐시)을 따로 만들지 않는다. null 이면 전체 애플리케이션.
+     */
+    public static WalaSession init(String classpath, Set<String> unblockPatterns, List<String> extraLibPaths,
+                                   int irCacheCapacity, Set<String> focusClasses) throws Exception {
         AnalysisScope scope = AnalysisScope.createJavaAnalysisScope();
 
         // 1) 동적 Exclusions 설정 (파일 수정 없이 메모리에서 처리)
+        String exclusionsText = applyExclusions(scope, unblockPatterns);
+
+        // 2) 기본 클래스패스 및 JDK 추가 (JDK 는 스냅샷 캐시 사용)
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (entry.toLowerCase().endsWith(".zip")) {
+                // AnalysisScopeReader 는 .jar 만 archive 로 인식하므로 zip 은 직접 추가
+                scope.addToScope(ClassLoaderReference.Application, new java.util.jar.JarFile(entry));
+            } else {
+                com.ibm.wala.core.util.config.AnalysisScopeReader.instance
+                        .addClassPathToScope(entry, scope, ClassLoaderReference.Application);
+            }
+        }
+        addPrimordialJars(scope, exclusionsText);
+
+        // 3) 외부 라이브러리(JavaFX 등) 동적 추가
+        addExtraLibs(scope, extraLibPaths);
+
+        return build(scope, focusClasses, false, irCacheCapacity);
+    }
+
+    /**
+     * 2차(Healing) 세션: 이 세션에서 이미 열린 애플리케이션/외부 라이브러리 모듈을 그대로 재사용하고,
+     * 차단 해제된 패키지와 추가 라이브러리만 반영한다.
+     * CallGraph 는 focusClasses(내부 이름, 예: "a/b/C")만 엔트리포인트로 삼아 실패한 부분에 대해서만 계산한다.
+     */
+    public WalaSession heal(Set<String> unblockPatterns, List<String> extraLibPaths, Set<String> focusClasses) throws Exception {
+        AnalysisScope healed = AnalysisScope.createJavaAnalysisScope();
+        String exclusionsText = applyExclusions(healed, unblockPatterns);
+
+        // JDK 는 변경된 exclusions 에 맞는 스냅샷으로 교체 (차단 해제된 JDK 패키지 포함)
+        addPrimordialJars(healed, exclusionsText);
+
+        // 1차 세션의 모듈 재사용 (jar 재오픈 및 클래스패스 재탐색 없음)
+        for (ClassLoaderReference loader : List.of(ClassLoaderReference.Extension, ClassLoaderReference.Application)) {
+            for (Module m : scope.getModules(loader)) {
+                healed.addToScope(loader, m);
+            }
+        }
+        addExtraLibs(healed, extraLibPaths);
+
+        // 1차 세션의 CallGraph/ModRef 는 더 이상 필요 없으므로 해제
+        release();
+        return build(healed, focusClasses, true, irCache.capacity());
+    }
+
+    /**
+     * 분할 분석용 세션: 이 세션의 scope 와 CHA 를 그대로 공유하고, focusClasses(내부 이름)만 엔트리포인트로 삼는다.
+     * 나머지 클래스패스는 엔트리포인트에서 도달할 때만 분석되므로 CallGraph/Mod/Ref/IR 캐시 크기는 묶음 크기를 따른다.
+     * 묶음 분석이 끝나면 {@link #release()} 로 해제한다.
+     */
+    public WalaSession focus(Set<String> focusClasses) {
+        return new WalaSession(scope, cha, new IRCache(irCache.capacity()), modRef, focusClasses, healing, null);
+    }
+
+    /** Tier 2/3 결과(CallGraph, PointerAnalysis, Mod/Ref)와 IR 캐시를 해제. CHA 와 모듈은 유지 */
+    public synchronized void release() {
+        cg = null;
+        pa = null;
+        nodesByMethod = null;
+        lazyModRef = null;
+        cache.clear();
+    }
+
+    private static WalaSession build(AnalysisScope scope, Set<String> focusClasses, boolean healing,
+                                     int irCacheCapacity) throws Exception {
+        // 핵심 분석 인프라 생성 (실패 시 진단 로직 작동)
+        // Tier 1: CHA 는 즉시 구축. CallGraph/PointerAnalysis/ModRef 는 최초 DDG 요청 시 구축된다.
+        long t0 = System.nanoTime();
+        long heap0 = usedHeap();
+        long alloc0 = Metrics.allocatedBytes();
+        JfrEvents.SessionInit event = new JfrEvents.SessionInit();
+        event.begin();
+        IClassHierarchy cha = com.ibm.wala.ipa.cha.ClassHierarchyFactory.make(scope);
+        long[] chaCost = {System.nanoTime() - t0, Metrics.allocatedBytes() - alloc0};
+        event.end();
+        if (event.shouldCommit()) {
+            event.tier = "CHA";
+            event.healing = healing;
+            event.classes = cha.getNumberOfClasses();
+            event.commit();
+        }
+        logTier("ClassHierarchy", t0, heap0);
+
+        ModRef<InstanceKey> modRef = ModRef.make();
+
+        return new WalaSession(scope, cha, new IRCache(irCacheCapacity), modRef, focusClasses, healing, chaCost);
+    }
+
+    /** exclusions.txt 에 unblockPatterns 를 반영해 scope 에 설정하고, 실제 적용된 텍스트를 돌려준다 */
+    private static String applyExclusions(AnalysisScope scope, Set<String> unblockPatterns) throws IOException {
         File exclusionsFile = new File("exclusions.txt");
         if (exclusionsFile.exists()) {
             List<String> filteredLines = new ArrayList<>();
@@ -66,14 +335,12 @@ public class WalaSession {
             String combined = String.join("\n", filteredLines);
             scope.setExclusions(new com.ibm.wala.util.config.FileOfClasses(
                     new java.io.ByteArrayInputStream(combined.getBytes(java.nio.charset.StandardCharsets.UTF_8))));
+            return combined;
         }
+        return "";
+    }
 
-        // 2) 기본 클래스패스 및 JDK 추가
-        com.ibm.wala.core.util.config.AnalysisScopeReader.instance
-                .addClassPathToScope(classpathRoot, scope, ClassLoaderReference.Application);
-        addPrimordialJars(scope);
-
-        // 3) 외부 라이브러리(JavaFX 등) 동적 추가
+    private static void addExtraLibs(AnalysisScope scope, List<String> extraLibPaths) throws IOException {
         if (extraLibPaths != null) {
             for (String libPath : extraLibPaths) {
                 File libFile = new File(libPath);
@@ -92,51 +359,80 @@ public class WalaSession {
                 }
             }
         }
+    }
 
-        // 3) 핵심 분석 인프라 생성 (실패 시 진단 로직 작동)
-        IClassHierarchy cha;
-        try {
-            cha = com.ibm.wala.ipa.cha.ClassHierarchyFactory.make(scope);
-        } catch (Exception e) {
-            // Exception e를 추가로 인자로 넘김
-            throw e;
+    /**
+     * Tier 3: 노드별 지연 Mod/Ref 저장소를 준비한다 (CallGraph 가 없으면 먼저 구축).
+     * 전역 computeMod/computeRef 는 하지 않으며, 실제 계산은 {@link #modRefFor} 에서 필요한 부분만 이루어진다.
+     */
+    public void ensureModRef() throws CallGraphBuilderCancelException {
+        if (lazyModRef != null) return;
+        ensureCallGraph();
+        synchronized (this) {
+            if (lazyModRef == null) lazyModRef = new LazyModRef(cg, pa, modRef, LazyModRef.DEFAULT_CAPACITY);
         }
+    }
 
-        // 4) Entrypoints 및 분석 옵션 설정
-        Iterable<Entrypoint> eps =
-                new com.ibm.wala.ipa.callgraph.impl.AllApplicationEntrypoints(scope, cha);
-        AnalysisOptions options = new AnalysisOptions(scope, eps);
-        // Reflection 설정은 유지하기로 하였으므로 기본값(또는 명시적 설정)을 사용합니다.
+    /** node 의 PDG 를 만들 때 넘길 mod/ref (node 에서 도달 가능한 노드만, 요청 시 계산) */
+    public LazyModRef.Slice modRefFor(CGNode node) throws CallGraphBuilderCancelException {
+        ensureModRef();
+        return lazyModRef.slice(node, metrics);
+    }
 
-        AnalysisCache cache = new AnalysisCacheImpl();
+    /** 지연 Mod/Ref 계산 현황 (아직 준비되지 않았으면 null) */
+    public String modRefStats() {
+        LazyModRef m = lazyModRef;
+        return m == null ? null : m.stats();
+    }
 
-        // 5) CallGraph 및 PointerAnalysis 생성
-        CallGraphBuilder<InstanceKey> builder =
-                Util.makeZeroCFABuilder(Language.JAVA, options, cache, cha);
-        CallGraph cg = builder.makeCallGraph(options, (MonitorUtil.IProgressMonitor) null);
-        PointerAnalysis<InstanceKey> pa = builder.getPointerAnalysis();
+    private void commitTier(JfrEvents.SessionInit event, String tier) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.tier = tier;
+            event.healing = healing;
+            event.classes = cha.getNumberOfClasses();
+            event.callGraphNodes = cg == null ? 0 : cg.getNumberOfNodes();
+            event.commit();
+        }
+    }
 
-        // 6) ModRef 전역 계산 초기화
-        ModRef<InstanceKey> modRef = ModRef.make();
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
 
-        return new WalaSession(scope, cha, cache, cg, pa, modRef);
+    private static void logTier(String tier, long startNanos, long heapBefore) {
+        long ms = (System.nanoTime() - startNanos) / 1_000_000;
+        long deltaMb = (usedHeap() - heapBefore) / (1024 * 1024);
+        System.out.println(">>> [Session] " + tier + " built in " + ms + " ms (heap " + (deltaMb >= 0 ? "+" : "") + deltaMb + " MB)");
     }
 
-    private static void addPrimordialJars(AnalysisScope scope) throws Exception {
+    private static void addPrimordialJars(AnalysisScope scope, String exclusionsText) throws Exception {
         String[] rels = {
                 "lib\\rt.jar", "lib\\jce.jar", "lib\\jsse.jar", "lib\\sunjce_provider.jar"
         };
         boolean hasRt=false, hasJce=false;
+        List<File> jars = new ArrayList<>();
         for (String rel : rels) {
             File jar = new File(rel);
             if (jar.exists()) {
-                scope.addToScope(ClassLoaderReference.Primordial, new java.util.jar.JarFile(jar));
+                jars.add(jar);
                 if (rel.endsWith("rt.jar")) hasRt = true;
                 if (rel.endsWith("jce.jar")) hasJce = true;
             }
         }
         if (!hasRt)  throw new IllegalStateException("rt.jar not found");
         if (!hasJce) throw new IllegalStateException("jce.jar not found");
+
+        try {
+            scope.addToScope(ClassLoaderReference.Primordial, PrimordialSnapshot.load(jars, scope.getExclusions(), exclusionsText));
+        } catch (IOException e) {
+            // 캐시를 쓸 수 없으면 jar 를 직접 사용
+            System.out.println(">>> [Session] Primordial snapshot unavailable (" + e.getMessage() + "), reading jars directly");
+            for (File jar : jars) {
+                scope.addToScope(ClassLoaderReference.Primordial, new java.util.jar.JarFile(jar));
+            }
+        }
     }
 
 }
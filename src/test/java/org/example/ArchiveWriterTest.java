@@ -0,0 +1,79 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ArchiveWriter 로 쓴 archive 를 ArchiveIndex 로 다시 읽는다.
+ * 탭/줄바꿈/역슬래시가 들어간 시그니처와 같은 시그니처의 중복 기록(마지막 기록 우선)을 포함한다.
+ */
+class ArchiveWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static ArchiveWriter.Entry entry(String signature, String json) {
+        return new ArchiveWriter.Entry(signature, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(ArchiveIndex index, String signature) throws IOException {
+        byte[] json = index.read(signature);
+        return json == null ? null : new String(json, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void roundTripWithEscapedSignatures() throws IOException {
+        Path archive = dir.resolve("out").resolve("graphs.jsonl");
+        String plain = "a.b.C.m(I)V";
+        String odd = "a.b.C.we\tird\nna\\me\r()V";
+        try (ArchiveWriter w = ArchiveWriter.open(archive)) {
+            w.append(entry(plain, "{\"method\":\"m\"}"));
+            w.append(entry(odd, "{\"method\":\"한글\"}"));
+        }
+
+        // 인덱스 한 줄에 메서드 하나
+        List<String> lines = Files.readAllLines(ArchiveWriter.indexPath(archive), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("a.b.C.we\\tird\\nna\\\\me\\r()V", lines.get(1).split("\t", 3)[2]);
+
+        ArchiveIndex index = ArchiveIndex.load(archive);
+        assertEquals(List.of(plain, odd), List.copyOf(index.signatures()));
+        assertEquals("{\"method\":\"m\"}", read(index, plain));
+        assertEquals("{\"method\":\"한글\"}", read(index, odd));
+        assertNull(index.read("a.b.C.missing()V"));
+    }
+
+    @Test
+    void lastEntryWinsForDuplicateSignature() throws IOException {
+        Path archive = dir.resolve("graphs.jsonl");
+        try (ArchiveWriter w = ArchiveWriter.open(archive)) {
+            w.append(entry("C.m()V", "{\"pass\":1}"));
+            w.append(entry("C.n()V", "{\"other\":true}"));
+            w.append(entry("C.m()V", "{\"pass\":2}"));   // 예: Healing 재분석
+        }
+
+        ArchiveIndex index = ArchiveIndex.load(archive);
+        assertEquals(2, index.signatures().size());
+        assertEquals("{\"pass\":2}", read(index, "C.m()V"));
+        assertEquals("{\"other\":true}", read(index, "C.n()V"));
+        // archive 자체에는 세 줄 모두 남아 있다
+        assertEquals(3, Files.readAllLines(archive, StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    void escapeIsReversible() {
+        for (String s : List.of("", "plain", "\\", "\\t", "a\tb", "x\r\ny", "ends\\")) {
+            String escaped = ArchiveWriter.escape(s);
+            assertFalse(escaped.contains("\t") || escaped.contains("\n") || escaped.contains("\r"));
+            assertEquals(s, ArchiveWriter.unescape(escaped));
+        }
+    }
+}
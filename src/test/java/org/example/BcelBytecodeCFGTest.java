@@ -0,0 +1,275 @@
+package org.example;
+
+import org.apache.bcel.Const;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.generic.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 손으로 조립한 바이트코드에서 DFG 엣지를 정확히 비교한다.
+ * 엣지는 "정의 오프셋->사용 오프셋" 문자열 집합으로 다룬다.
+ */
+class BcelBytecodeCFGTest {
+
+    /** 예외 핸들러: [start, end] (end 포함) 에서 handler 로 */
+    private record Handler(InstructionHandle start, InstructionHandle end, InstructionHandle handler) {}
+
+    /** il 을 static void m() 으로 조립해 mode 로 빌드하고 dfg 엣지를 돌려준다 (이후 handle 위치가 확정됨) */
+    private static Set<String> dfg(String mode, InstructionList il, Handler... handlers) {
+        ClassGen cg = new ClassGen("T", "java.lang.Object", "T.java", Const.ACC_PUBLIC, null);
+        MethodGen mg = new MethodGen(Const.ACC_PUBLIC | Const.ACC_STATIC, Type.VOID, Type.NO_ARGS, null,
+                "m", "T", il, cg.getConstantPool());
+        for (Handler h : handlers) mg.addExceptionHandler(h.start, h.end, h.handler, null);
+        mg.setMaxStack(8);
+        mg.setMaxLocals(4);
+        cg.addMethod(mg.getMethod());
+        JavaClass jc = cg.getJavaClass();
+
+        IntGraph g = new BcelBytecodeCFG().buildAll(jc, mode)
+                .get(new BcelClassIntrospector.MethodSig("m", "()V")).dfgEdges;
+        Set<String> edges = new TreeSet<>();
+        for (int r = 0; r < g.nodeCount(); r++) {
+            for (int i = g.rowStart(r); i < g.rowEnd(r); i++) edges.add(g.source(r) + "->" + g.target(i));
+        }
+        return edges;
+    }
+
+    private static String e(InstructionHandle def, InstructionHandle use) {
+        return def.getPosition() + "->" + use.getPosition();
+    }
+
+    private static Set<String> edges(String... edges) {
+        return new TreeSet<>(Set.of(edges));
+    }
+
+    // ---- DATA_LOCAL: 로컬 변수 슬롯의 reaching definitions ----
+
+    @Test
+    void loopCarriedDefReachesLoopHeader() {
+        InstructionList il = new InstructionList();
+        il.append(new ICONST(0));
+        InstructionHandle s0 = il.append(new ISTORE(0));
+        InstructionHandle head = il.append(new ILOAD(0));
+        il.append(new BIPUSH((byte) 10));
+        BranchHandle exit = il.append(new IF_ICMPGE(null));
+        InstructionHandle body = il.append(new ILOAD(0));
+        il.append(new ICONST(1));
+        il.append(InstructionConst.IADD);
+        InstructionHandle s1 = il.append(new ISTORE(0));
+        il.append(new GOTO(head));
+        exit.setTarget(il.append(InstructionConst.RETURN));
+
+        Set<String> actual = dfg("DATA_LOCAL", il);
+        assertEquals(edges(e(s0, head), e(s1, head), e(s0, body), e(s1, body)), actual);
+    }
+
+    @Test
+    void exclusiveIfElseDefsBothReachJoinAndKillEarlierDef() {
+        InstructionList il = new InstructionList();
+        il.append(new ICONST(0));
+        il.append(new ISTORE(0));                                   // 두 갈래 모두에서 덮어씀
+        il.append(new ICONST(0));
+        BranchHandle toElse = il.append(new IFEQ(null));
+        il.append(new ICONST(1));
+        InstructionHandle thenDef = il.append(new ISTORE(0));
+        BranchHandle toJoin = il.append(new GOTO(null));
+        toElse.setTarget(il.append(new ICONST(2)));
+        InstructionHandle elseDef = il.append(new ISTORE(0));
+        InstructionHandle join = il.append(new ILOAD(0));
+        toJoin.setTarget(join);
+        il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_LOCAL", il);
+        assertEquals(edges(e(thenDef, join), e(elseDef, join)), actual);
+    }
+
+    @Test
+    void defsBeforeEachProtectedInstructionReachHandler() {
+        InstructionList il = new InstructionList();
+        il.append(new ICONST(0));
+        InstructionHandle s0 = il.append(new ISTORE(0));
+        InstructionHandle tryStart = il.append(new ICONST(1));
+        InstructionHandle s1 = il.append(new ISTORE(0));
+        il.append(new ICONST(2));
+        InstructionHandle s2 = il.append(new ISTORE(0));            // 보호 구간의 마지막: 이 정의는 핸들러에 도달하지 않음
+        BranchHandle toDone = il.append(new GOTO(null));
+        InstructionHandle handler = il.append(new ASTORE(1));
+        InstructionHandle inHandler = il.append(new ILOAD(0));
+        il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+        InstructionHandle done = il.append(new ILOAD(0));
+        toDone.setTarget(done);
+        il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_LOCAL", il, new Handler(tryStart, s2, handler));
+        assertEquals(edges(e(s0, inHandler), e(s1, inHandler), e(s2, done)), actual);
+    }
+
+    @Test
+    void iincIsBothUseAndDef() {
+        InstructionList il = new InstructionList();
+        il.append(new ICONST(0));
+        InstructionHandle s0 = il.append(new ISTORE(0));
+        InstructionHandle inc = il.append(new IINC(0, 1));          // s0 와 이전 반복의 자신을 읽음
+        InstructionHandle load = il.append(new ILOAD(0));
+        il.append(new BIPUSH((byte) 10));
+        il.append(new IF_ICMPLT(inc));
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_LOCAL", il);
+        assertEquals(edges(e(s0, inc), e(inc, inc), e(inc, load)), actual);
+    }
+
+    @Test
+    void wideDefsKillBothSlotsAndAreKilledByEitherHalf() {
+        InstructionList il = new InstructionList();
+        il.append(new ICONST(1));
+        il.append(new ISTORE(1));
+        il.append(new ICONST(2));
+        il.append(new ISTORE(2));
+        il.append(InstructionConst.LCONST_0);
+        InstructionHandle wide = il.append(new LSTORE(1));          // 슬롯 1, 2 를 덮어씀
+        InstructionHandle readWide = il.append(new LLOAD(1));
+        il.append(InstructionConst.POP2);
+        il.append(new ILOAD(2));                                    // 슬롯 2 의 int 정의는 지워짐
+        il.append(InstructionConst.POP);
+        il.append(new ICONST(3));
+        il.append(new ISTORE(2));                                   // long 의 상위 절반을 덮어씀
+        il.append(new LLOAD(1));                                    // 도달하는 정의 없음
+        il.append(InstructionConst.POP2);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_LOCAL", il);
+        assertEquals(edges(e(wide, readWide)), actual);
+    }
+
+    // ---- DATA_STACK: 오퍼랜드 스택 생산자 -> 소비자 (로컬 변수를 쓰지 않아 슬롯 엣지는 없음) ----
+
+    @Test
+    void dupKeepsProducerOfCategory1Value() {
+        InstructionList il = new InstructionList();
+        InstructionHandle p = il.append(new ICONST(1));
+        InstructionHandle dup = il.append(InstructionConst.DUP);
+        InstructionHandle add = il.append(InstructionConst.IADD);
+        InstructionHandle pop = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(p, dup), e(p, add), e(add, pop)), actual);
+    }
+
+    @Test
+    void dup2CopiesBothWordsOfCategory2Value() {
+        InstructionList il = new InstructionList();
+        InstructionHandle l = il.append(InstructionConst.LCONST_1);
+        InstructionHandle dup2 = il.append(InstructionConst.DUP2);
+        InstructionHandle add = il.append(InstructionConst.LADD);
+        InstructionHandle pop = il.append(InstructionConst.POP2);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(l, dup2), e(l, add), e(add, pop)), actual);
+    }
+
+    @Test
+    void dupX1InsertsCopyUnderSecondValue() {
+        InstructionList il = new InstructionList();
+        InstructionHandle p1 = il.append(new ICONST(1));
+        InstructionHandle p2 = il.append(new ICONST(2));
+        InstructionHandle dup = il.append(InstructionConst.DUP_X1);   // [p1, p2] -> [p2, p1, p2]
+        InstructionHandle q1 = il.append(InstructionConst.POP);
+        InstructionHandle q2 = il.append(InstructionConst.POP);
+        InstructionHandle q3 = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(p2, dup), e(p2, q1), e(p1, q2), e(p2, q3)), actual);
+    }
+
+    @Test
+    void dupX2InsertsCopyUnderCategory2Value() {
+        InstructionList il = new InstructionList();
+        InstructionHandle l = il.append(InstructionConst.LCONST_0);
+        InstructionHandle i = il.append(new ICONST(1));
+        InstructionHandle dup = il.append(InstructionConst.DUP_X2);   // [l, l, i] -> [i, l, l, i]
+        InstructionHandle q1 = il.append(InstructionConst.POP);
+        InstructionHandle q2 = il.append(InstructionConst.POP2);
+        InstructionHandle q3 = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(i, dup), e(i, q1), e(l, q2), e(i, q3)), actual);
+    }
+
+    @Test
+    void dup2X2WithFourCategory1Values() {
+        InstructionList il = new InstructionList();
+        InstructionHandle p1 = il.append(new ICONST(1));
+        InstructionHandle p2 = il.append(new ICONST(2));
+        InstructionHandle p3 = il.append(new ICONST(3));
+        InstructionHandle p4 = il.append(new ICONST(4));
+        InstructionHandle dup = il.append(InstructionConst.DUP2_X2);  // [p1..p4] -> [p3, p4, p1, p2, p3, p4]
+        InstructionHandle[] q = new InstructionHandle[6];
+        for (int k = 0; k < q.length; k++) q[k] = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(p4, dup), e(p3, dup),
+                e(p4, q[0]), e(p3, q[1]), e(p2, q[2]), e(p1, q[3]), e(p4, q[4]), e(p3, q[5])), actual);
+    }
+
+    @Test
+    void dup2X2WithTwoCategory2Values() {
+        InstructionList il = new InstructionList();
+        InstructionHandle a = il.append(InstructionConst.LCONST_0);
+        InstructionHandle b = il.append(InstructionConst.LCONST_1);
+        InstructionHandle dup = il.append(InstructionConst.DUP2_X2);  // [a, b] -> [b, a, b] (long 단위)
+        InstructionHandle q1 = il.append(InstructionConst.POP2);
+        InstructionHandle q2 = il.append(InstructionConst.POP2);
+        InstructionHandle q3 = il.append(InstructionConst.POP2);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(b, dup), e(b, q1), e(a, q2), e(b, q3)), actual);
+    }
+
+    @Test
+    void swapExchangesProducers() {
+        InstructionList il = new InstructionList();
+        InstructionHandle p1 = il.append(new ICONST(1));
+        InstructionHandle p2 = il.append(new ICONST(2));
+        InstructionHandle swap = il.append(InstructionConst.SWAP);    // [p1, p2] -> [p2, p1]
+        InstructionHandle q1 = il.append(InstructionConst.POP);
+        InstructionHandle q2 = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(p2, swap), e(p1, swap), e(p1, q1), e(p2, q2)), actual);
+    }
+
+    @Test
+    void branchMergeUnionsDifferentProducers() {
+        InstructionList il = new InstructionList();
+        InstructionHandle c = il.append(new ICONST(0));
+        BranchHandle toElse = il.append(new IFEQ(null));
+        InstructionHandle p1 = il.append(new ICONST(1));
+        BranchHandle toJoin = il.append(new GOTO(null));
+        InstructionHandle p2 = il.append(new ICONST(2));
+        toElse.setTarget(p2);
+        InstructionHandle dup = il.append(InstructionConst.DUP);      // 합류점: 맨 위 word 의 생산자는 {p1, p2}
+        toJoin.setTarget(dup);
+        InstructionHandle add = il.append(InstructionConst.IADD);
+        InstructionHandle pop = il.append(InstructionConst.POP);
+        il.append(InstructionConst.RETURN);
+
+        Set<String> actual = dfg("DATA_STACK", il);
+        assertEquals(edges(e(c, toElse), e(p1, dup), e(p2, dup), e(p1, add), e(p2, add), e(add, pop)), actual);
+    }
+}
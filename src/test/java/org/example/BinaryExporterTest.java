@@ -0,0 +1,122 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BinaryExporter 로 쓴 .bgr 을 BinaryGraphReader 로 다시 읽어 노드, 바이트, 엣지가 그대로인지 확인한다.
+ * 그래프는 손으로 만들며, code 길이는 정렬 패딩이 생기도록 4 의 배수가 아니게 둔다.
+ */
+class BinaryExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static IntGraph graph(int[] nodes, int... pairs) {
+        IntGraph.Builder b = new IntGraph.Builder();
+        for (int n : nodes) b.addNode(n);
+        for (int i = 0; i < pairs.length; i += 2) b.addEdge(pairs[i], pairs[i + 1]);
+        return b.build();
+    }
+
+    /** iload_0, ifeq +4, iconst_1, ireturn (offset 0, 1, 4, 5) */
+    private static BinaryExporter.Entry branchy() {
+        BcelBytecodeCFG.Graph g = new BcelBytecodeCFG.Graph();
+        g.rawCode = new byte[]{0x1A, (byte) 0x99, 0x00, 0x04, 0x04, (byte) 0xAC};
+        g.nodes.put(0, new InstructionInfo(0, 1, "ILOAD_0", null, "1A"));
+        g.nodes.put(1, new InstructionInfo(1, 3, "IFEQ", "-> 5", "99 00 04"));
+        g.nodes.put(4, new InstructionInfo(4, 1, "ICONST_1", null, "04"));
+        g.nodes.put(5, new InstructionInfo(5, 1, "IRETURN", "반환", "AC"));
+        int[] offsets = {0, 1, 4, 5};
+        g.cfgEdges = graph(offsets, 0, 1, 1, 4, 1, 5, 4, 5);
+        g.exEdges = graph(offsets);
+        WalaIRProjector.Flow flow = new WalaIRProjector.Flow();
+        flow.dfg = graph(offsets, 0, 1);
+        flow.cdg = graph(offsets, 1, 4);
+        flow.ddg = graph(offsets, 0, 1, 4, 5);
+        return new BinaryExporter.Entry("test", "(I)I", g, flow);
+    }
+
+    /** return (offset 0), 엣지 없음 */
+    private static BinaryExporter.Entry trivial() {
+        BcelBytecodeCFG.Graph g = new BcelBytecodeCFG.Graph();
+        g.rawCode = new byte[]{(byte) 0xB1};
+        g.nodes.put(0, new InstructionInfo(0, 1, "RETURN", null, "B1"));
+        g.cfgEdges = graph(new int[]{0});
+        return new BinaryExporter.Entry("<init>", "()V", g, new WalaIRProjector.Flow());
+    }
+
+    private static int[] ints(IntBuffer b) {
+        int[] a = new int[b.remaining()];
+        b.get(a);
+        return a;
+    }
+
+    private static byte[] bytes(ByteBuffer b) {
+        byte[] a = new byte[b.remaining()];
+        b.get(a);
+        return a;
+    }
+
+    @Test
+    void roundTripPreservesNodesBytesAndEdges() throws IOException {
+        Path file = dir.resolve("C.bgr");
+        BinaryExporter.export("a/b/C", List.of(branchy(), trivial()), file);
+
+        BinaryGraphReader r = BinaryGraphReader.open(file);
+        assertEquals(2, r.methodCount());
+
+        BinaryGraphReader.MethodView m = r.method(0);
+        assertEquals("a.b.C.test(I)I", m.signature());
+        assertArrayEquals(branchy().graph().rawCode, bytes(m.code()));
+        assertEquals(4, m.nodeCount());
+        assertEquals(1, m.nodeOffset(1));
+        assertEquals(3, m.nodeLength(1));
+        assertEquals("IFEQ", m.mnemonic(1));
+        assertEquals("-> 5", m.operands(1));
+        assertNull(m.operands(0));
+        assertEquals("반환", m.operands(3));
+        assertArrayEquals(new byte[]{(byte) 0x99, 0x00, 0x04}, bytes(m.nodeBytes(1)));
+
+        assertArrayEquals(new int[]{0, 1, 1, 4, 1, 5, 4, 5}, ints(m.edges(BinaryGraphReader.EdgeKind.CFG)));
+        assertEquals(0, m.edgeCount(BinaryGraphReader.EdgeKind.EX));
+        assertArrayEquals(new int[]{0, 1}, ints(m.edges(BinaryGraphReader.EdgeKind.DFG)));
+        assertArrayEquals(new int[]{1, 4}, ints(m.edges(BinaryGraphReader.EdgeKind.CDG)));
+        assertArrayEquals(new int[]{0, 1, 4, 5}, ints(m.edges(BinaryGraphReader.EdgeKind.DDG)));
+
+        // 패딩 뒤의 두 번째 레코드
+        BinaryGraphReader.MethodView init = r.method(1);
+        assertEquals("a.b.C.<init>()V", init.signature());
+        assertArrayEquals(new byte[]{(byte) 0xB1}, bytes(init.code()));
+        assertEquals(1, init.nodeCount());
+        assertEquals("RETURN", init.mnemonic(0));
+        for (BinaryGraphReader.EdgeKind kind : BinaryGraphReader.EdgeKind.values()) {
+            assertEquals(0, init.edgeCount(kind));
+        }
+    }
+
+    @Test
+    void emptyClassHasNoMethods() throws IOException {
+        Path file = dir.resolve("Empty.bgr");
+        BinaryExporter.export("Empty", List.of(), file);
+        BinaryGraphReader r = BinaryGraphReader.open(file);
+        assertEquals(0, r.methodCount());
+        assertFalse(r.iterator().hasNext());
+    }
+
+    @Test
+    void rejectsFileWithoutMagic() throws IOException {
+        Path file = dir.resolve("bad.bgr");
+        Files.write(file, new byte[16]);
+        assertThrows(IOException.class, () -> BinaryGraphReader.open(file));
+    }
+}
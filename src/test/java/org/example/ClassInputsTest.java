@@ -0,0 +1,97 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassInputs 의 클래스 파일 목록과 keyOf 를 디렉토리, jar, 디렉토리 안의 jar 대상으로 확인한다.
+ * 내용은 읽지 않으므로 엔트리 바이트는 아무 값이나 쓴다.
+ */
+class ClassInputsTest {
+
+    @TempDir
+    Path dir;
+
+    private static void jar(Path file, String... entries) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream os = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(os)) {
+            for (String e : entries) {
+                zip.putNextEntry(new ZipEntry(e));
+                zip.write(new byte[]{(byte) 0xCA, (byte) 0xFE});
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static Path touch(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, new byte[]{(byte) 0xCA, (byte) 0xFE});
+    }
+
+    private static List<String> keys(ClassInputs inputs) {
+        List<String> keys = new ArrayList<>();
+        for (Path f : inputs.classFiles()) keys.add(inputs.keyOf(f));
+        return keys;
+    }
+
+    @Test
+    void jarEntriesSkipMetaInfAndModuleInfo() throws IOException {
+        Path jar = dir.resolve("app.jar");
+        jar(jar, "a/b/C.class", "a/D.class", "module-info.class", "META-INF/MANIFEST.MF",
+                "META-INF/versions/11/a/b/C.class", "a/b/readme.txt");
+
+        try (ClassInputs inputs = ClassInputs.open(jar)) {
+            assertEquals(List.of("app.jar!/a/D.class", "app.jar!/a/b/C.class"), keys(inputs));
+            assertEquals(jar.toAbsolutePath().toString(), inputs.classPath());
+            // 엔트리는 압축을 풀지 않고 바로 읽힌다
+            assertArrayEquals(new byte[]{(byte) 0xCA, (byte) 0xFE}, Files.readAllBytes(inputs.classFiles().get(0)));
+        }
+    }
+
+    @Test
+    void directoryKeysAreRelativeAndIncludeNestedJars() throws IOException {
+        touch(dir.resolve("x/Y.class"));
+        touch(dir.resolve("META-INF/versions/9/x/Y.class"));
+        jar(dir.resolve("lib/dep.jar"), "d/E.class");
+
+        try (ClassInputs inputs = ClassInputs.open(dir)) {
+            assertEquals(List.of("lib/dep.jar!/d/E.class", "x/Y.class"), keys(inputs));
+            String[] cp = inputs.classPath().split(File.pathSeparator);
+            assertEquals(List.of(dir.toAbsolutePath().toString(), dir.resolve("lib/dep.jar").toAbsolutePath().toString()),
+                    List.of(cp));
+        }
+    }
+
+    @Test
+    void singleClassFileKeyIsItsName() throws IOException {
+        Path file = touch(dir.resolve("pkg/Z.class"));
+        try (ClassInputs inputs = ClassInputs.open(file)) {
+            assertEquals(List.of("Z.class"), keys(inputs));
+        }
+    }
+
+    @Test
+    void keyIsStableAcrossOpens() throws IOException {
+        Path jar = dir.resolve("app.jar");
+        jar(jar, "a/b/C.class");
+        String first;
+        try (ClassInputs inputs = ClassInputs.open(jar)) {
+            first = inputs.keyOf(inputs.classFiles().get(0));
+        }
+        try (ClassInputs inputs = ClassInputs.open(jar)) {
+            assertEquals(first, inputs.keyOf(inputs.classFiles().get(0)));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example;
+
+import com.ibm.wala.classLoader.IMethod;
+import com.ibm.wala.ipa.callgraph.Context;
+import com.ibm.wala.ipa.callgraph.impl.Everywhere;
+import com.ibm.wala.ssa.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IRCache 의 LRU 축출, IR/DefUse 동반 축출, key 별 단일 생성을 확인한다.
+ * 메서드와 IR 은 명령어가 없는 가짜로 만들며, factory 는 호출 횟수만 센다.
+ */
+class IRCacheTest {
+
+    private static final SSAOptions OPTIONS = SSAOptions.defaultOptions();
+
+    /** 이름만 가진 가짜 메서드 (동일성으로 비교) */
+    private static IMethod method(String name) {
+        return (IMethod) Proxy.newProxyInstance(IRCacheTest.class.getClassLoader(), new Class<?>[]{IMethod.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> name;
+                    case "isAbstract", "isNative" -> false;
+                    default -> null;
+                });
+    }
+
+    /** 명령어가 없는 IR (DefUse 를 만들 수 있을 만큼만 구현) */
+    private static IR emptyIR(IMethod method) {
+        return new IR(method, new SSAInstruction[0], new SymbolTable(0), null, OPTIONS) {
+            @Override
+            protected SSA2LocalMap getLocalMap() { return null; }
+
+            @Override
+            protected <T extends SSAIndirectionData.Name> SSAIndirectionData<T> getIndirectionData() { return null; }
+
+            @Override
+            protected String instructionPosition(int instructionIndex) { return ""; }
+
+            @Override
+            public Iterator<SSAInstruction> iterateAllInstructions() { return Collections.emptyIterator(); }
+        };
+    }
+
+    /** 만들 때마다 새 IR 을 돌려주고 메서드별 생성 횟수를 센다 */
+    private static final class CountingFactory implements IRFactory<IMethod> {
+        final Map<IMethod, AtomicInteger> built = new ConcurrentHashMap<>();
+
+        @Override
+        public IR makeIR(IMethod method, Context context, SSAOptions options) {
+            built.computeIfAbsent(method, m -> new AtomicInteger()).incrementAndGet();
+            return emptyIR(method);
+        }
+
+        @Override
+        public boolean contextIsIrrelevant(IMethod method) { return true; }
+
+        int count(IMethod m) {
+            AtomicInteger n = built.get(m);
+            return n == null ? 0 : n.get();
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        IRCache cache = new IRCache(2);
+        CountingFactory f = new CountingFactory();
+        IMethod a = method("a"), b = method("b"), c = method("c");
+
+        IR irA = cache.ir(f, a, Everywhere.EVERYWHERE, OPTIONS);
+        cache.ir(f, b, Everywhere.EVERYWHERE, OPTIONS);
+        assertSame(irA, cache.ir(f, a, Everywhere.EVERYWHERE, OPTIONS));    // a 가 가장 최근
+        cache.ir(f, c, Everywhere.EVERYWHERE, OPTIONS);                     // b 가 밀려남
+
+        assertEquals(2, cache.size());
+        assertSame(irA, cache.ir(f, a, Everywhere.EVERYWHERE, OPTIONS));
+        cache.ir(f, b, Everywhere.EVERYWHERE, OPTIONS);
+        assertEquals(1, f.count(a));
+        assertEquals(2, f.count(b));
+    }
+
+    @Test
+    void defUseIsEvictedWithItsIrAndNeverServedForAnotherIr() {
+        IRCache cache = new IRCache(1);
+        CountingFactory f = new CountingFactory();
+        IMethod a = method("a"), b = method("b");
+
+        IR oldA = cache.ir(f, a, Everywhere.EVERYWHERE, OPTIONS);
+        DefUse oldDu = cache.defUse(oldA, Everywhere.EVERYWHERE);
+        assertSame(oldDu, cache.defUse(oldA, Everywhere.EVERYWHERE));
+
+        cache.ir(f, b, Everywhere.EVERYWHERE, OPTIONS);                     // a 의 IR 과 DefUse 가 함께 밀려남
+        IR newA = cache.ir(f, a, Everywhere.EVERYWHERE, OPTIONS);
+        assertNotSame(oldA, newA);
+
+        DefUse newDu = cache.defUse(newA, Everywhere.EVERYWHERE);
+        assertNotSame(oldDu, newDu);
+        assertSame(newDu, cache.defUse(newA, Everywhere.EVERYWHERE));
+        // 밀려난 IR 을 들고 있는 호출자는 보관되지 않은 새 DefUse 를 받는다
+        assertNotSame(newDu, cache.defUse(oldA, Everywhere.EVERYWHERE));
+        assertNotSame(cache.defUse(oldA, Everywhere.EVERYWHERE), cache.defUse(oldA, Everywhere.EVERYWHERE));
+    }
+
+    @Test
+    void concurrentRequestsForOneKeyBuildOnce() throws Exception {
+        IRCache cache = new IRCache(16);
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingFactory counting = new CountingFactory();
+        IRFactory<IMethod> slow = new IRFactory<>() {
+            @Override
+            public IR makeIR(IMethod method, Context context, SSAOptions options) {
+                building.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return counting.makeIR(method, context, options);
+            }
+
+            @Override
+            public boolean contextIsIrrelevant(IMethod method) { return true; }
+        };
+        IMethod a = method("a");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IR>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.ir(slow, a, Everywhere.EVERYWHERE, OPTIONS)));
+            building.await();
+            for (int i = 0; i < 3; i++) results.add(pool.submit(() -> cache.ir(slow, a, Everywhere.EVERYWHERE, OPTIONS)));
+            release.countDown();
+
+            IR first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<IR> r : results) assertSame(first, r.get(10, TimeUnit.SECONDS));
+            assertEquals(1, counting.count(a));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedBuildIsNotCached() {
+        IRCache cache = new IRCache(4);
+        AtomicInteger calls = new AtomicInteger();
+        IRFactory<IMethod> flaky = new IRFactory<>() {
+            @Override
+            public IR makeIR(IMethod method, Context context, SSAOptions options) {
+                if (calls.getAndIncrement() == 0) throw new IllegalStateException("boom");
+                return emptyIR(method);
+            }
+
+            @Override
+            public boolean contextIsIrrelevant(IMethod method) { return true; }
+        };
+        IMethod a = method("a");
+
+        assertThrows(IllegalStateException.class, () -> cache.ir(flaky, a, Everywhere.EVERYWHERE, OPTIONS));
+        assertEquals(0, cache.size());
+        assertNotNull(cache.ir(flaky, a, Everywhere.EVERYWHERE, OPTIONS));
+        assertEquals(2, calls.get());
+    }
+}
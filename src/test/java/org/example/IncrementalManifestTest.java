@@ -0,0 +1,124 @@
+package org.example;
+
+import org.apache.bcel.Const;
+import org.apache.bcel.generic.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalManifest.plan 이 고르는 재분석 대상과 지울 출력을 확인한다.
+ * 클래스 파일은 BCEL 로 만들며, 한 번 plan/save 한 뒤 파일을 바꿔 다시 plan 한다 (NO_DDG: 상위 타입만 따라감).
+ */
+class IncrementalManifestTest {
+
+    private static final String RUN_KEY = "DATA_LOCAL/NO_DDG/test";
+
+    @TempDir
+    Path dir;
+
+    private Path classes;
+    private Path manifestFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        classes = Files.createDirectories(dir.resolve("classes"));
+        manifestFile = dir.resolve("out").resolve(".bytegraph-manifest");
+        writeClass("Base", "java.lang.Object", "a", "b");
+        writeClass("Sub", "Base", "c");
+        writeClass("Other", "java.lang.Object", "d");
+    }
+
+    /** name 클래스 (상위 클래스 superName) 를 void 메서드들과 함께 기록 */
+    private void writeClass(String name, String superName, String... methods) throws IOException {
+        ClassGen cg = new ClassGen(name, superName, name + ".java", Const.ACC_PUBLIC, null);
+        for (String m : methods) {
+            InstructionList il = new InstructionList();
+            il.append(InstructionConst.RETURN);
+            MethodGen mg = new MethodGen(Const.ACC_PUBLIC | Const.ACC_STATIC, Type.VOID, Type.NO_ARGS, null,
+                    m, name, il, cg.getConstantPool());
+            mg.setMaxStack(0);
+            mg.setMaxLocals(0);
+            cg.addMethod(mg.getMethod());
+        }
+        cg.getJavaClass().dump(classes.resolve(name + ".class").toFile());
+    }
+
+    /** 현재 classes 디렉토리로 plan 하고, 실패 없이 끝난 것으로 저장 */
+    private IncrementalManifest.Plan planAndSave() throws IOException {
+        try (ClassInputs inputs = ClassInputs.open(classes)) {
+            IncrementalManifest manifest = IncrementalManifest.load(manifestFile, RUN_KEY);
+            IncrementalManifest.Plan plan = manifest.plan(inputs, inputs.classFiles(), false);
+            manifest.save(inputs, plan, Set.of());
+            return plan;
+        }
+    }
+
+    private static Set<String> names(List<Path> files) {
+        Set<String> out = new TreeSet<>();
+        for (Path f : files) out.add(f.getFileName().toString());
+        return out;
+    }
+
+    @Test
+    void firstRunAnalyzesEverything() throws IOException {
+        IncrementalManifest.Plan plan = planAndSave();
+        assertEquals(Set.of("Base.class", "Sub.class", "Other.class"), names(plan.toAnalyze()));
+        assertTrue(plan.dropped().isEmpty());
+    }
+
+    @Test
+    void unchangedFilesAreSkipped() throws IOException {
+        planAndSave();
+        IncrementalManifest.Plan plan = planAndSave();
+        assertTrue(plan.toAnalyze().isEmpty());
+        assertTrue(plan.dropped().isEmpty());
+        assertEquals(3, plan.current().size());
+    }
+
+    @Test
+    void changedSupertypeReanalyzesSubtypes() throws IOException {
+        planAndSave();
+        writeClass("Base", "java.lang.Object", "a", "b", "added");
+        IncrementalManifest.Plan plan = planAndSave();
+        assertEquals(Set.of("Base.class", "Sub.class"), names(plan.toAnalyze()));
+        assertTrue(plan.dropped().isEmpty());
+    }
+
+    @Test
+    void deletedClassDropsAllItsOutputs() throws IOException {
+        planAndSave();
+        Files.delete(classes.resolve("Other.class"));
+        IncrementalManifest.Plan plan = planAndSave();
+        assertTrue(plan.toAnalyze().isEmpty());
+        assertEquals(List.of(new IncrementalManifest.Dropped("Other", Set.of("d"), true)), plan.dropped());
+
+        // 다음 실행에서는 다시 알리지 않는다
+        assertTrue(planAndSave().dropped().isEmpty());
+    }
+
+    @Test
+    void removedMethodDropsOnlyThatMethod() throws IOException {
+        planAndSave();
+        writeClass("Base", "java.lang.Object", "a");
+        IncrementalManifest.Plan plan = planAndSave();
+        assertEquals(Set.of("Base.class", "Sub.class"), names(plan.toAnalyze()));
+        assertEquals(List.of(new IncrementalManifest.Dropped("Base", Set.of("b"), false)), plan.dropped());
+    }
+
+    @Test
+    void differentRunKeyReanalyzesEverything() throws IOException {
+        planAndSave();
+        try (ClassInputs inputs = ClassInputs.open(classes)) {
+            IncrementalManifest manifest = IncrementalManifest.load(manifestFile, "DATA_STACK/NO_DDG/test");
+            assertEquals(3, manifest.plan(inputs, inputs.classFiles(), false).toAnalyze().size());
+        }
+    }
+}
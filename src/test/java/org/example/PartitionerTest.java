@@ -0,0 +1,110 @@
+package org.example;
+
+import org.apache.bcel.Const;
+import org.apache.bcel.generic.ClassGen;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partitioner 의 묶음 크기 제한과 패키지/참조 기준 묶기를 확인한다.
+ * 클래스 파일은 BCEL 로 만들고, 참조는 상수 풀의 CONSTANT_Class 항목으로 넣는다.
+ */
+class PartitionerTest {
+
+    @TempDir
+    Path dir;
+
+    /** 내부 이름 name 의 빈 클래스, refs 는 상수 풀에만 추가 */
+    private Path writeClass(String name, String... refs) throws IOException {
+        ClassGen cg = new ClassGen(name.replace('/', '.'), "java.lang.Object", "X.java", Const.ACC_PUBLIC, null);
+        for (String r : refs) cg.getConstantPool().addClass(r);
+        Path file = dir.resolve(name + ".class");
+        Files.createDirectories(file.getParent());
+        cg.getJavaClass().dump(file.toFile());
+        return file;
+    }
+
+    private static List<Set<String>> classes(List<Partitioner.Partition> partitions) {
+        List<Set<String>> out = new ArrayList<>();
+        for (Partitioner.Partition p : partitions) out.add(new TreeSet<>(p.classes()));
+        return out;
+    }
+
+    @Test
+    void packagesAreKeptTogetherAndOrderedByName() throws IOException {
+        List<Path> files = List.of(writeClass("z/A"), writeClass("a/B"), writeClass("z/C"), writeClass("a/D"));
+
+        List<Partitioner.Partition> parts = Partitioner.partition(files, Partitioner.Strategy.PACKAGE, 2);
+        assertEquals(List.of(Set.of("a/B", "a/D"), Set.of("z/A", "z/C")), classes(parts));
+        for (Partitioner.Partition p : parts) assertEquals(p.classes().size(), p.files().size());
+    }
+
+    @Test
+    void partitionsNeverExceedTheSize() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 7; i++) files.add(writeClass("p/C" + i));
+        files.add(writeClass("q/D"));
+
+        List<Partitioner.Partition> parts = Partitioner.partition(files, Partitioner.Strategy.PACKAGE, 3);
+        // 큰 패키지는 입력 순서대로 잘리고, 다음 패키지는 남은 자리에 들어간다
+        assertEquals(List.of(Set.of("p/C0", "p/C1", "p/C2"), Set.of("p/C3", "p/C4", "p/C5"), Set.of("p/C6", "q/D")),
+                classes(parts));
+        int total = 0;
+        for (Partitioner.Partition p : parts) {
+            assertTrue(p.classes().size() <= 3);
+            total += p.files().size();
+        }
+        assertEquals(files.size(), total);
+    }
+
+    @Test
+    void smallGroupStartsANewPartitionInsteadOfBeingSplit() throws IOException {
+        List<Path> files = List.of(writeClass("a/A1"), writeClass("a/A2"), writeClass("b/B1"), writeClass("b/B2"));
+
+        List<Partitioner.Partition> parts = Partitioner.partition(files, Partitioner.Strategy.PACKAGE, 3);
+        assertEquals(List.of(Set.of("a/A1", "a/A2"), Set.of("b/B1", "b/B2")), classes(parts));
+    }
+
+    @Test
+    void depsGroupsConnectedClassesAcrossPackages() throws IOException {
+        // x/A -> y/B (단방향 참조도 같은 요소), y/C -> z/D, x/E 는 라이브러리만 참조
+        List<Path> files = List.of(
+                writeClass("x/A", "y/B", "java/lang/String"),
+                writeClass("y/C", "z/D"),
+                writeClass("x/E", "java/util/List"),
+                writeClass("y/B"),
+                writeClass("z/D"));
+
+        List<Partitioner.Partition> parts = Partitioner.partition(files, Partitioner.Strategy.DEPS, 2);
+        assertEquals(List.of(Set.of("x/A", "y/B"), Set.of("y/C", "z/D"), Set.of("x/E")), classes(parts));
+    }
+
+    @Test
+    void unreadableFilesGoToTheFirstPartition() throws IOException {
+        Path bad = Files.write(dir.resolve("Bad.class"), new byte[]{1, 2, 3});
+        List<Path> files = List.of(writeClass("a/A"), bad, writeClass("b/B"));
+
+        List<Partitioner.Partition> parts = Partitioner.partition(files, Partitioner.Strategy.PACKAGE, 1);
+        assertEquals(2, parts.size());
+        assertTrue(parts.get(0).files().contains(bad));
+        assertFalse(parts.get(0).classes().contains("Bad"));
+
+        // 읽을 수 있는 클래스가 없어도 묶음 하나로 실패가 보고된다
+        List<Partitioner.Partition> only = Partitioner.partition(List.of(bad), Partitioner.Strategy.DEPS, 5);
+        assertEquals(1, only.size());
+        assertEquals(List.of(bad), only.get(0).files());
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Partitioner.partition(List.of(), Partitioner.Strategy.PACKAGE, 0));
+    }
+}